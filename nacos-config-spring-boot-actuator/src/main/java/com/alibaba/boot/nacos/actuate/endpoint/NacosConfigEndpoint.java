@@ -23,9 +23,16 @@ import java.util.Properties;
 
 import com.alibaba.boot.nacos.common.PropertiesUtils;
 import com.alibaba.boot.nacos.config.NacosConfigConstants;
+import com.alibaba.boot.nacos.config.binder.NacosBootValueAnnotationBeanPostProcessor;
+import com.alibaba.boot.nacos.config.util.NacosConfigConnectionRegistry;
+import com.alibaba.boot.nacos.config.util.NacosConfigContentRegistry;
+import com.alibaba.boot.nacos.config.util.NacosConfigParseCache;
+import com.alibaba.boot.nacos.config.util.NacosConfigRefreshCoalescer;
+import com.alibaba.boot.nacos.config.util.converter.NacosConversionCache;
 import com.alibaba.nacos.api.config.annotation.NacosConfigListener;
 import com.alibaba.nacos.api.config.annotation.NacosConfigurationProperties;
 import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.alibaba.nacos.spring.context.annotation.config.NacosValueAnnotationBeanPostProcessor;
 import com.alibaba.nacos.spring.context.event.config.NacosConfigMetadataEvent;
 import com.alibaba.nacos.spring.util.NacosUtils;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -75,6 +82,48 @@ public class NacosConfigEndpoint
 			result.put("nacosConfigGlobalProperties",
 					PropertiesUtils.extractSafeProperties(applicationContext.getBean(
 							CONFIG_GLOBAL_NACOS_PROPERTIES_BEAN_NAME, Properties.class)));
+
+			NacosConfigContentRegistry registry = NacosConfigContentRegistry.getSingleton();
+			Map<String, Object> bootstrap = new HashMap<>(4);
+			bootstrap.put("fetchCount", registry.getFetchCount());
+			bootstrap.put("avoidedFetchCount", registry.getAvoidedFetchCount());
+			result.put("nacosConfigBootstrap", bootstrap);
+
+			result.put("nacosConfigConnections",
+					NacosConfigConnectionRegistry.getSingleton().getReferenceCounts());
+
+			NacosConfigRefreshCoalescer coalescer = NacosConfigRefreshCoalescer.getSingleton();
+			Map<String, Object> refresh = new HashMap<>(4);
+			refresh.put("receivedCount", coalescer.getReceivedCount());
+			refresh.put("appliedCount", coalescer.getAppliedCount());
+			refresh.put("mergedCount", coalescer.getMergedCount());
+			refresh.put("droppedCount", coalescer.getDroppedCount());
+			result.put("nacosConfigRefresh", refresh);
+
+			NacosConfigParseCache parseCache = NacosConfigParseCache.getSingleton();
+			Map<String, Object> parse = new HashMap<>(8);
+			parse.put("hitCount", parseCache.getHitCount());
+			parse.put("missCount", parseCache.getMissCount());
+			parse.put("evictionCount", parseCache.getEvictionCount());
+			parse.put("size", parseCache.getSize());
+			parse.put("weight", parseCache.getWeight());
+			result.put("nacosConfigParseCache", parse);
+
+			Object valuePostProcessor = applicationContext.containsBean(
+					NacosValueAnnotationBeanPostProcessor.BEAN_NAME)
+							? applicationContext.getBean(NacosValueAnnotationBeanPostProcessor.BEAN_NAME)
+							: null;
+			if (valuePostProcessor instanceof NacosBootValueAnnotationBeanPostProcessor) {
+				NacosConversionCache conversionCache = ((NacosBootValueAnnotationBeanPostProcessor) valuePostProcessor)
+						.getConversionService().getConversionCache();
+				Map<String, Object> conversion = new HashMap<>(8);
+				conversion.put("hitCount", conversionCache.getHitCount());
+				conversion.put("missCount", conversionCache.getMissCount());
+				conversion.put("conversionNanos", conversionCache.getConversionNanos());
+				conversion.put("size", conversionCache.getSize());
+				conversion.put("maximumSize", conversionCache.getMaximumSize());
+				result.put("nacosConfigConversionCache", conversion);
+			}
 		}
 
 		return result;
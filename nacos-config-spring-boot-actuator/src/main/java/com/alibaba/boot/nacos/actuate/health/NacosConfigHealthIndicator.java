@@ -16,9 +16,12 @@
  */
 package com.alibaba.boot.nacos.actuate.health;
 
+import java.util.Collections;
 import java.util.Properties;
+import java.util.Set;
 
 import com.alibaba.boot.nacos.common.PropertiesUtils;
+import com.alibaba.boot.nacos.config.util.NacosConfigRevalidator;
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.spring.factory.CacheableEventPublishingNacosServiceFactory;
@@ -62,5 +65,12 @@ public class NacosConfigHealthIndicator extends AbstractHealthIndicator {
 				builder.down();
 			}
 		}
+		NacosConfigRevalidator revalidator = applicationContext
+				.getBeanProvider(NacosConfigRevalidator.class).getIfAvailable();
+		Set<String> degraded = revalidator != null
+				? revalidator.getDegradedPropertySources() : Collections.emptySet();
+		if (!degraded.isEmpty()) {
+			builder.withDetail("degradedConfigs", degraded);
+		}
 	}
 }
@@ -38,4 +38,6 @@ public interface NacosConfigConstants {
 
 	String NACOS_LOG_BOOTSTRAP = PREFIX + ".bootstrap.log.enable";
 
+	String BIND_INTO_COPY = PREFIX + ".bind-into-copy";
+
 }
@@ -20,9 +20,11 @@ import java.util.Properties;
 import java.util.function.Function;
 
 import com.alibaba.boot.nacos.config.properties.NacosConfigProperties;
+import com.alibaba.boot.nacos.config.util.NacosConfigContentRegistry;
 import com.alibaba.boot.nacos.config.util.NacosConfigLoader;
 import com.alibaba.boot.nacos.config.util.NacosConfigLoaderFactory;
 import com.alibaba.boot.nacos.config.util.NacosConfigPropertiesUtils;
+import com.alibaba.boot.nacos.config.util.NacosConfigRevalidator;
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.client.config.utils.SnapShotSwitch;
@@ -33,7 +35,10 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.env.ConfigurableEnvironment;
 
 /**
@@ -89,6 +94,31 @@ public class NacosConfigApplicationContextInitializer
 		// 配置加载器
 		final NacosConfigLoader configLoader = NacosConfigLoaderFactory.getSingleton(
 				nacosConfigProperties, environment, builder);
+		configLoader.setApplicationStartup(context.getApplicationStartup());
+		// 配置差异事件只在应用上下文可以发布事件之后发布
+		configLoader.setApplicationEventPublisher(event -> {
+			if (context.isActive()) {
+				context.publishEvent(event);
+			}
+		});
+		// 应用上下文刷新后再校验来自本地快照或已降级的配置，校验触发的事件才能送达监听器
+		context.addApplicationListener(new ApplicationListener<ContextRefreshedEvent>() {
+			@Override
+			public void onApplicationEvent(ContextRefreshedEvent event) {
+				if (event.getApplicationContext() == context) {
+					configLoader.startRevalidation();
+				}
+			}
+		});
+		// 应用上下文关闭时停止校验并释放共享连接的引用
+		context.addApplicationListener(new ApplicationListener<ContextClosedEvent>() {
+			@Override
+			public void onApplicationEvent(ContextClosedEvent event) {
+				if (event.getApplicationContext() == context) {
+					configLoader.releaseConnections();
+				}
+			}
+		});
 
         if (!processor.snapshotEnable()) {
             SnapShotSwitch.setIsSnapShot(false);
@@ -123,6 +153,17 @@ public class NacosConfigApplicationContextInitializer
 			factory.registerSingleton(NacosBeanUtils.GLOBAL_NACOS_PROPERTIES_BEAN_NAME,
 					configLoader.getGlobalProperties());
 		}
+		if (!factory.containsSingleton(NacosConfigRevalidator.BEAN_NAME)) {
+			// 注册本应用上下文的配置校验器，健康检查从中读取降级的配置
+			factory.registerSingleton(NacosConfigRevalidator.BEAN_NAME,
+					configLoader.getRevalidator());
+		}
+
+		// 引导阶段结束，之后的配置变更都直接从服务端获取
+		NacosConfigContentRegistry registry = NacosConfigContentRegistry.getSingleton();
+		registry.clear();
+		logger.info("[Nacos Config Boot] : bootstrap fetched {} config(s) from nacos, {} duplicate fetch(es) avoided",
+				registry.getFetchCount(), registry.getAvoidedFetchCount());
 	}
 
 	private boolean enable() {
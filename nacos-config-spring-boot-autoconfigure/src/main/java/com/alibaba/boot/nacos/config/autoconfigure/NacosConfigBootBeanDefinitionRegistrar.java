@@ -16,16 +16,26 @@
  */
 package com.alibaba.boot.nacos.config.autoconfigure;
 
+import com.alibaba.boot.nacos.config.NacosConfigConstants;
 import com.alibaba.boot.nacos.config.binder.NacosBootConfigurationPropertiesBinder;
+import com.alibaba.boot.nacos.config.binder.NacosBootValueAnnotationBeanPostProcessor;
+import com.alibaba.boot.nacos.config.binder.NacosConfigurationPropertiesRebinder;
+import com.alibaba.boot.nacos.config.binder.NacosConfigurationPropertiesSwapPostProcessor;
+import com.alibaba.boot.nacos.config.scope.NacosRefreshBeanScope;
+import com.alibaba.nacos.spring.context.annotation.config.NacosValueAnnotationBeanPostProcessor;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.env.Environment;
 import org.springframework.core.type.AnnotationMetadata;
 
 /**
@@ -34,7 +44,9 @@ import org.springframework.core.type.AnnotationMetadata;
  */
 @Configuration
 public class NacosConfigBootBeanDefinitionRegistrar
-		implements ImportBeanDefinitionRegistrar, BeanFactoryAware {
+		implements ImportBeanDefinitionRegistrar, BeanFactoryAware, EnvironmentAware {
+
+	private Environment environment;
 
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
@@ -45,11 +57,43 @@ public class NacosConfigBootBeanDefinitionRegistrar
 		defaultListableBeanFactory.registerBeanDefinition(
 				NacosBootConfigurationPropertiesBinder.BEAN_NAME,
 				beanDefinitionBuilder.getBeanDefinition());
+		// 标准配置属性集重新绑定器
+		defaultListableBeanFactory.registerBeanDefinition(
+				NacosConfigurationPropertiesRebinder.BEAN_NAME,
+				BeanDefinitionBuilder.rootBeanDefinition(NacosConfigurationPropertiesRebinder.class)
+						.getBeanDefinition());
+		// 配置刷新作用域
+		defaultListableBeanFactory.registerBeanDefinition(NacosRefreshBeanScope.BEAN_NAME,
+				BeanDefinitionBuilder.rootBeanDefinition(NacosRefreshBeanScope.class)
+						.getBeanDefinition());
+		// @NacosValue 注解的后置处理器，使用自己的转换服务，先于 nacos-spring 注册
+		if (!defaultListableBeanFactory.containsBeanDefinition(
+				NacosValueAnnotationBeanPostProcessor.BEAN_NAME)) {
+			AbstractBeanDefinition beanDefinition = BeanDefinitionBuilder
+					.rootBeanDefinition(NacosBootValueAnnotationBeanPostProcessor.class)
+					.setRole(BeanDefinition.ROLE_INFRASTRUCTURE).getBeanDefinition();
+			defaultListableBeanFactory.registerBeanDefinition(
+					NacosValueAnnotationBeanPostProcessor.BEAN_NAME, beanDefinition);
+		}
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
 	}
 
 	@Override
 	public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata,
 			BeanDefinitionRegistry registry) {
-		//
+		if (environment != null && environment.getProperty(
+				NacosConfigConstants.BIND_INTO_COPY, Boolean.class, false)
+				&& !registry.containsBeanDefinition(NacosConfigurationPropertiesSwapPostProcessor.BEAN_NAME)) {
+			// 绑定到副本后原子替换的代理
+			BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder
+					.rootBeanDefinition(NacosConfigurationPropertiesSwapPostProcessor.class)
+					.addConstructorArgReference(NacosBootConfigurationPropertiesBinder.BEAN_NAME);
+			registry.registerBeanDefinition(NacosConfigurationPropertiesSwapPostProcessor.BEAN_NAME,
+					beanDefinitionBuilder.getBeanDefinition());
+		}
 	}
 }
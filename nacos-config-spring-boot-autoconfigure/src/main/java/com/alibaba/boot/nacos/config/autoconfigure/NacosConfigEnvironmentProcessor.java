@@ -28,6 +28,7 @@ import com.alibaba.boot.nacos.config.util.NacosConfigLoaderFactory;
 import com.alibaba.boot.nacos.config.util.NacosConfigPropertiesUtils;
 import com.alibaba.boot.nacos.config.util.log.LogAutoFreshProcess;
 import com.alibaba.nacos.api.NacosFactory;
+import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.spring.factory.CacheableEventPublishingNacosServiceFactory;
@@ -40,6 +41,8 @@ import org.springframework.boot.env.EnvironmentPostProcessor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 
 /**
  * In the Context to create premise before loading the log configuration information
@@ -70,6 +73,10 @@ public class NacosConfigEnvironmentProcessor
 	 * 配置属性集
 	 */
 	private NacosConfigProperties nacosConfigProperties;
+	/**
+	 * 应用启动步骤记录器
+	 */
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
 
 	// Because ApplicationContext has not been injected at preload time, need to manually
 	// cache the created Service to prevent duplicate creation
@@ -84,8 +91,17 @@ public class NacosConfigEnvironmentProcessor
 				return serviceCache.get(key);
 			}
 			// 创建配置服务
-			final ConfigService configService = NacosFactory
-					.createConfigService(properties);
+			final StartupStep step = applicationStartup
+					.start("nacos.config.bootstrap.config-service")
+					.tag("serverAddr", String.valueOf(properties.getProperty(PropertyKeyConst.SERVER_ADDR)))
+					.tag("namespace", String.valueOf(properties.getProperty(PropertyKeyConst.NAMESPACE)));
+			final ConfigService configService;
+			try {
+				configService = NacosFactory.createConfigService(properties);
+			}
+			finally {
+				step.end();
+			}
 			serviceCache.put(key, configService);
 			// 发布延迟服务
 			return nacosServiceFactory.deferCreateService(configService, properties);
@@ -101,31 +117,36 @@ public class NacosConfigEnvironmentProcessor
 			SpringApplication application) {
 		// 应用上下文初始化程序
 		application.addInitializers(new NacosConfigApplicationContextInitializer(this));
-		// 基于环境组件构建配置属性集
-		nacosConfigProperties = NacosConfigPropertiesUtils.buildNacosConfigProperties(environment);
-		if (enable()) {
-			// 预加载的日志配置
-			System.out.println(
-					"[Nacos Config Boot] : The preload log configuration is enabled");
-			// 加载配置
-			this.loadConfig(environment);
-			// 配置加载器
-			NacosConfigLoader nacosConfigLoader = NacosConfigLoaderFactory
-					.getSingleton(nacosConfigProperties, environment, builder);
-			// 构建日志自动刷新处理程序
-			LogAutoFreshProcess.build(environment, nacosConfigProperties,
-					nacosConfigLoader, builder)
-					.process();
+		applicationStartup = application.getApplicationStartup();
+		final StartupStep step = applicationStartup.start("nacos.config.bootstrap");
+		try {
+			// 基于环境组件构建配置属性集
+			nacosConfigProperties = NacosConfigPropertiesUtils.buildNacosConfigProperties(environment);
+			if (enable()) {
+				// 预加载的日志配置
+				System.out.println(
+						"[Nacos Config Boot] : The preload log configuration is enabled");
+				// 配置加载器，与应用上下文初始化程序共享
+				NacosConfigLoader nacosConfigLoader = NacosConfigLoaderFactory
+						.getSingleton(nacosConfigProperties, environment, builder);
+				nacosConfigLoader.setApplicationStartup(applicationStartup);
+				// 加载配置
+				this.loadConfig(nacosConfigLoader);
+				// 构建日志自动刷新处理程序
+				LogAutoFreshProcess.build(environment, nacosConfigProperties,
+						nacosConfigLoader, builder)
+						.process();
+			}
+		}
+		finally {
+			step.end();
 		}
 	}
 
 	/**
 	 * 加载配置
 	 */
-	private void loadConfig(ConfigurableEnvironment environment) {
-		// 配置加载器
-		NacosConfigLoader configLoader = new NacosConfigLoader(nacosConfigProperties,
-				environment, builder);
+	private void loadConfig(NacosConfigLoader configLoader) {
 		// 加载配置
 		configLoader.loadConfig();
 		// set defer NacosPropertySource
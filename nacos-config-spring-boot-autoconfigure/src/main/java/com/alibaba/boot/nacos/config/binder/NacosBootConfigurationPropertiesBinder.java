@@ -16,59 +16,272 @@
  */
 package com.alibaba.boot.nacos.config.binder;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
+import com.alibaba.boot.nacos.config.support.MultiProfilesYamlConfigParseSupport;
+import com.alibaba.boot.nacos.config.util.converter.NacosConversionService;
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.config.annotation.NacosConfigurationProperties;
 import com.alibaba.nacos.spring.context.properties.config.NacosConfigurationPropertiesBinder;
 import com.alibaba.nacos.spring.core.env.NacosPropertySource;
 import com.alibaba.nacos.spring.util.ObjectUtils;
+import org.springframework.aop.target.HotSwappableTargetSource;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.boot.context.properties.bind.Bindable;
 import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.CollectionFactory;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.StandardEnvironment;
+import org.springframework.objenesis.ObjenesisException;
+import org.springframework.objenesis.SpringObjenesis;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * 配置属性集绑定器
+ * Every bind works on its own view of the system properties, the system environment and
+ * the bound content, so beans bind concurrently; binds of the same bean are serialized to
+ * keep the order of refreshes. Beans registered through {@link #getTargetSource} are bound
+ * into a field-by-field copy of their current target on refresh, which is then swapped in
+ * atomically. A content is
+ * parsed once per data-id, and a bean instance is not rebound when none of the keys
+ * changed since its last bind is under its prefix; an instance seen for the first time is
+ * always bound, whatever its bean name.
  * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
  * @since 0.2.2
  */
 public class NacosBootConfigurationPropertiesBinder
 		extends NacosConfigurationPropertiesBinder {
 
+	private static final SpringObjenesis OBJENESIS = new SpringObjenesis();
+
 	private final ConfigurableApplicationContext applicationContext;
 
-	private final StandardEnvironment environment = new StandardEnvironment();
+	/**
+	 * 系统属性与系统环境变量的配置属性源，所有绑定共享
+	 */
+	private final List<PropertySource<?>> systemPropertySources = new ArrayList<>(2);
+
+	/**
+	 * 系统属性与系统环境变量的配置属性源适配器，所有绑定共享
+	 */
+	private final List<ConfigurationPropertySource> systemConfigurationPropertySources = new ArrayList<>(2);
+
+	/**
+	 * 每个 bean 的绑定锁
+	 */
+	private final ConcurrentMap<String, Object> bindLocks = new ConcurrentHashMap<>(16);
+
+	/**
+	 * 每个 bean 的绑定计划，首次绑定（即 bean 注册）时计算
+	 */
+	private final ConcurrentMap<String, BindPlan> bindPlans = new ConcurrentHashMap<>(16);
+
+	/**
+	 * 绑定到副本的 bean 的目标源，键为 bean 实例
+	 */
+	private final InstanceMap<HotSwappableTargetSource> targetSources = new InstanceMap<>();
+
+	/**
+	 * 每个数据身份的最新内容与相对上一次内容变化的属性，键为 (dataId, groupId, type)
+	 */
+	private final ConcurrentMap<String, ContentState> contentStates = new ConcurrentHashMap<>(16);
+
+	/**
+	 * 每个 bean 实例最近一次绑定的内容，同名的原型实例与重建的实例各自记录
+	 */
+	private final InstanceMap<String> boundContents = new InstanceMap<>();
+
+	/**
+	 * 因前缀下没有属性变化而跳过的绑定次数
+	 */
+	private final AtomicLong skippedBindCount = new AtomicLong();
 
 	public NacosBootConfigurationPropertiesBinder(
 			ConfigurableApplicationContext applicationContext) {
 		super(applicationContext);
 		this.applicationContext = applicationContext;
+		for (PropertySource<?> propertySource : new StandardEnvironment().getPropertySources()) {
+			systemPropertySources.add(propertySource);
+			systemConfigurationPropertySources.add(ConfigurationPropertySource.from(propertySource));
+		}
 	}
 
 	@Override
 	protected void doBind(Object bean, String beanName, String dataId, String groupId,
 			String configType, NacosConfigurationProperties properties, String content,
 			ConfigService configService) {
-		synchronized (this) {
-			String name = "nacos-bootstrap-" + beanName;
-			NacosPropertySource propertySource = new NacosPropertySource(dataId, groupId, name, content, configType);
-			environment.getPropertySources().addLast(propertySource);
-			ObjectUtils.cleanMapOrCollectionField(bean);
-			Binder binder = Binder.get(environment);
-			ResolvableType type = getBeanType(bean, beanName);
-			Bindable<?> target = Bindable.of(type).withExistingValue(bean);
-			binder.bind(properties.prefix(), target);
+		final String boundContent = content != null ? content : "";
+		synchronized (bindLocks.computeIfAbsent(beanName, key -> new Object())) {
+			ContentState state = getContentState(dataId, groupId, configType, boundContent);
+			BindPlan plan = getBindPlan(bean, beanName, properties);
+			final Object instance = bean;
+			if (isUnchanged(plan, state, boundContents.get(instance))) {
+				// 前缀下没有属性变化，跳过绑定与事件发布
+				skippedBindCount.incrementAndGet();
+				return;
+			}
+			Binder binder = createBinder(state);
+			HotSwappableTargetSource targetSource = targetSources.get(instance);
+			if (targetSource != null) {
+				// 绑定到当前实例的副本，完成后原子替换，读取方始终看到完整的对象
+				Object copy = copyOf(targetSource.getTarget());
+				binder.bind(plan.prefix, plan.bindable.withExistingValue(copy));
+				targetSource.swap(copy);
+				bean = copy;
+			}
+			else {
+				ObjectUtils.cleanMapOrCollectionField(bean);
+				binder.bind(plan.prefix, plan.bindable.withExistingValue(bean));
+			}
+			boundContents.put(instance, boundContent);
 			publishBoundEvent(bean, beanName, dataId, groupId, properties, content, configService);
 			publishMetadataEvent(bean, beanName, dataId, groupId, properties);
-			environment.getPropertySources().remove(name);
 		}
 	}
 
+	/**
+	 * 获取数据身份的内容状态，同一内容只解析一次
+	 */
+	private ContentState getContentState(String dataId, String groupId, String configType,
+			String content) {
+		String key = dataId + "+" + groupId + "+" + configType;
+		return contentStates.compute(key, (k, state) -> {
+			if (state != null && state.content.equals(content)) {
+				return state;
+			}
+			String name = "nacos-bootstrap-" + dataId + "-" + groupId;
+			NacosPropertySource propertySource = MultiProfilesYamlConfigParseSupport.parseWith(
+					applicationContext.getEnvironment(), () -> new NacosPropertySource(dataId,
+							groupId, name, content, configType));
+			return new ContentState(state, content, propertySource);
+		});
+	}
+
+	/**
+	 * bean 上次绑定的内容与当前内容之间，前缀下是否没有属性变化
+	 */
+	private boolean isUnchanged(BindPlan plan, ContentState state, String boundContent) {
+		if (boundContent == null) {
+			return false;
+		}
+		if (boundContent.equals(state.content)) {
+			return true;
+		}
+		// 只知道相邻两次内容之间的变化，占位符可能引用前缀之外的属性
+		if (state.changedNames == null || state.placeholders
+				|| !boundContent.equals(state.previousContent)) {
+			return false;
+		}
+		return !plan.overlaps(state.changedNames);
+	}
+
+	/**
+	 * 因前缀下没有属性变化而跳过的绑定次数
+	 */
+	public long getSkippedBindCount() {
+		return skippedBindCount.get();
+	}
+
+	/**
+	 * 创建只属于本次绑定的绑定器，属性优先级与占位符解析同系统属性、系统环境变量、配置内容依次排列的环境组件一致
+	 */
+	private Binder createBinder(ContentState state) {
+		List<PropertySource<?>> propertySources = new ArrayList<>(systemPropertySources);
+		propertySources.add(state.propertySource);
+		List<ConfigurationPropertySource> configurationPropertySources = new ArrayList<>(
+				systemConfigurationPropertySources);
+		configurationPropertySources.add(state.configurationPropertySource);
+		return new Binder(configurationPropertySources,
+				new PropertySourcesPlaceholdersResolver(propertySources),
+				NacosConversionService.getSingleton());
+	}
+
+	/**
+	 * 获取绑定计划，bean 的类型、工厂方法与前缀在应用上下文启动后不再变化
+	 */
+	private BindPlan getBindPlan(Object bean, String beanName,
+			NacosConfigurationProperties properties) {
+		BindPlan plan = bindPlans.get(beanName);
+		if (plan == null || plan.beanClass != bean.getClass()
+				|| !plan.prefix.equals(properties.prefix())) {
+			plan = new BindPlan(bean.getClass(), properties.prefix(),
+					Bindable.of(getBeanType(bean, beanName)));
+			bindPlans.put(beanName, plan);
+		}
+		return plan;
+	}
+
+	/**
+	 * 获取 bean 实例的目标源，之后的刷新绑定到当前目标的副本并替换目标
+	 *
+	 * @param bean 已完成首次绑定的 bean 实例
+	 * @return 目标源
+	 */
+	public HotSwappableTargetSource getTargetSource(Object bean) {
+		return targetSources.computeIfAbsent(bean, HotSwappableTargetSource::new);
+	}
+
+	/**
+	 * 复制当前实例，不调用构造方法，注入的字段与初始化后的状态原样保留；
+	 * 集合与映射字段换成同类型的空实例，与原地绑定前清空集合的效果一致，且不影响仍在读取的当前实例
+	 */
+	private static Object copyOf(Object current) {
+		Object copy;
+		try {
+			copy = OBJENESIS.newInstance(current.getClass());
+		}
+		catch (ObjenesisException e) {
+			copy = BeanUtils.instantiateClass(current.getClass());
+		}
+		final Object target = copy;
+		ReflectionUtils.doWithFields(current.getClass(), field -> {
+			ReflectionUtils.makeAccessible(field);
+			field.set(target, emptyIfContainer(field.get(current)));
+		}, field -> !Modifier.isStatic(field.getModifiers()));
+		return copy;
+	}
+
+	private static Object emptyIfContainer(Object value) {
+		try {
+			if (value instanceof Map) {
+				return CollectionFactory.createMap(value.getClass(), ((Map<?, ?>) value).size());
+			}
+			if (value instanceof Collection) {
+				return CollectionFactory.createCollection(value.getClass(),
+						((Collection<?>) value).size());
+			}
+		}
+		catch (IllegalArgumentException e) {
+			// 无法实例化的集合类型（如不可变集合）保持原值，由绑定器通过 setter 替换
+		}
+		return value;
+	}
+
 	private ResolvableType getBeanType(Object bean, String beanName) {
 		Method factoryMethod = findFactoryMethod(beanName);
 		if (factoryMethod != null) {
@@ -87,4 +300,202 @@ public class NacosBootConfigurationPropertiesBinder
 		}
 		return null;
 	}
+
+	/**
+	 * 绑定计划
+	 */
+	private static final class BindPlan {
+		/**
+		 * bean 的类型
+		 */
+		private final Class<?> beanClass;
+		/**
+		 * 属性前缀
+		 */
+		private final String prefix;
+		/**
+		 * 属性前缀的配置属性名称，无法解析时为 {@code null}
+		 */
+		private final ConfigurationPropertyName prefixName;
+		/**
+		 * 绑定目标模板
+		 */
+		private final Bindable<Object> bindable;
+
+		BindPlan(Class<?> beanClass, String prefix, Bindable<Object> bindable) {
+			this.beanClass = beanClass;
+			this.prefix = prefix;
+			this.bindable = bindable;
+			this.prefixName = adapt(prefix);
+		}
+
+		/**
+		 * 变化的属性是否在前缀下
+		 */
+		boolean overlaps(Set<ConfigurationPropertyName> changedNames) {
+			return NacosBootConfigurationPropertiesBinder.overlaps(prefixName, changedNames);
+		}
+	}
+
+	/**
+	 * 以实例身份为键的映射，只弱引用实例，实例被回收后条目随之清除
+	 */
+	private static final class InstanceMap<V> {
+
+		private final Map<InstanceKey, V> entries = new HashMap<>(16);
+
+		private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+		synchronized V get(Object instance) {
+			expunge();
+			return entries.get(new InstanceKey(instance, null));
+		}
+
+		synchronized void put(Object instance, V value) {
+			expunge();
+			entries.put(new InstanceKey(instance, queue), value);
+		}
+
+		synchronized V computeIfAbsent(Object instance, Function<Object, V> function) {
+			V value = get(instance);
+			if (value == null) {
+				value = function.apply(instance);
+				entries.put(new InstanceKey(instance, queue), value);
+			}
+			return value;
+		}
+
+		private void expunge() {
+			for (Reference<?> reference; (reference = queue.poll()) != null; ) {
+				entries.remove(reference);
+			}
+		}
+	}
+
+	/**
+	 * 实例身份的弱引用键
+	 */
+	private static final class InstanceKey extends WeakReference<Object> {
+
+		private final int hash;
+
+		InstanceKey(Object instance, ReferenceQueue<Object> queue) {
+			super(instance, queue);
+			this.hash = System.identityHashCode(instance);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof InstanceKey)) {
+				return false;
+			}
+			Object instance = get();
+			return instance != null && instance == ((InstanceKey) other).get();
+		}
+	}
+
+	/**
+	 * 数据身份的内容状态
+	 */
+	private static final class ContentState {
+		/**
+		 * 上一次的内容，没有时为 {@code null}
+		 */
+		private final String previousContent;
+		/**
+		 * 当前内容
+		 */
+		private final String content;
+		/**
+		 * 当前内容解析后的配置属性源
+		 */
+		private final NacosPropertySource propertySource;
+		/**
+		 * 配置属性源适配器
+		 */
+		private final ConfigurationPropertySource configurationPropertySource;
+		/**
+		 * 相对上一次内容变化的属性名称，未知时为 {@code null}
+		 */
+		private final Set<ConfigurationPropertyName> changedNames;
+		/**
+		 * 两次内容中是否有占位符
+		 */
+		private final boolean placeholders;
+
+		ContentState(ContentState previous, String content, NacosPropertySource propertySource) {
+			this.previousContent = previous != null ? previous.content : null;
+			this.content = content;
+			this.propertySource = propertySource;
+			this.configurationPropertySource = new NacosConfigurationPropertySource(propertySource,
+					propertySource.getSource());
+			Map<String, Object> current = propertySource.getSource();
+			if (previous == null) {
+				this.changedNames = null;
+				this.placeholders = hasPlaceholder(current);
+				return;
+			}
+			Map<String, Object> before = previous.propertySource.getSource();
+			this.placeholders = hasPlaceholder(current) || hasPlaceholder(before);
+			Set<ConfigurationPropertyName> names = new HashSet<>();
+			for (Map.Entry<String, Object> entry : current.entrySet()) {
+				if (!before.containsKey(entry.getKey())
+						|| !Objects.equals(before.get(entry.getKey()), entry.getValue())) {
+					names.add(adapt(entry.getKey()));
+				}
+			}
+			for (String key : before.keySet()) {
+				if (!current.containsKey(key)) {
+					names.add(adapt(key));
+				}
+			}
+			this.changedNames = Collections.unmodifiableSet(names);
+		}
+
+		private static boolean hasPlaceholder(Map<String, Object> properties) {
+			for (Object value : properties.values()) {
+				if (value instanceof String && ((String) value).contains("${")) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * 变化的属性是否在前缀下，前缀为 {@code null} 或空时任何变化都重叠
+	 */
+	static boolean overlaps(ConfigurationPropertyName prefixName,
+			Collection<ConfigurationPropertyName> changedNames) {
+		if (prefixName == null || prefixName.isEmpty()) {
+			return !changedNames.isEmpty();
+		}
+		for (ConfigurationPropertyName name : changedNames) {
+			if (name == null || prefixName.equals(name) || prefixName.isAncestorOf(name)
+					|| name.isAncestorOf(prefixName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 解析配置属性名称，无法解析时为 {@code null}，视为与任何前缀重叠
+	 */
+	static ConfigurationPropertyName adapt(String name) {
+		try {
+			return ConfigurationPropertyName.adapt(name, '.');
+		}
+		catch (RuntimeException e) {
+			return null;
+		}
+	}
 }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.binder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import com.alibaba.boot.nacos.config.util.converter.NacosValueConversionService;
+import com.alibaba.nacos.spring.context.annotation.config.NacosValueAnnotationBeanPostProcessor;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.TypeConverter;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * {@code @NacosValue} 注解的后置处理器
+ * Injects and refreshes {@code @NacosValue} members through a type converter backed by a
+ * {@link NacosValueConversionService}, instead of the type converter of the bean factory.
+ * The Nacos converters therefore apply to {@code @NacosValue} only, the conversion service
+ * of the application is left untouched. Registered under the bean name of the nacos-spring
+ * post-processor, which then skips its own registration.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosBootValueAnnotationBeanPostProcessor extends NacosValueAnnotationBeanPostProcessor {
+
+	/**
+	 * {@code @NacosValue} 的转换服务
+	 */
+	private NacosValueConversionService conversionService;
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		if (beanFactory instanceof ConfigurableListableBeanFactory) {
+			final ConfigurableListableBeanFactory listableBeanFactory = (ConfigurableListableBeanFactory) beanFactory;
+			conversionService = new NacosValueConversionService(
+					listableBeanFactory::getConversionService);
+			beanFactory = withTypeConverter(listableBeanFactory);
+		}
+		super.setBeanFactory(beanFactory);
+	}
+
+	public NacosValueConversionService getConversionService() {
+		return conversionService;
+	}
+
+	/**
+	 * 类型转换器，与 bean 工厂一样每次创建新的实例，并复制 bean 工厂注册的属性编辑器
+	 */
+	private TypeConverter createTypeConverter(ConfigurableListableBeanFactory beanFactory) {
+		SimpleTypeConverter typeConverter = new SimpleTypeConverter();
+		typeConverter.setConversionService(conversionService);
+		beanFactory.copyRegisteredEditorsTo(typeConverter);
+		return typeConverter;
+	}
+
+	/**
+	 * 包装 bean 工厂，只替换其类型转换器
+	 */
+	private ConfigurableListableBeanFactory withTypeConverter(
+			final ConfigurableListableBeanFactory beanFactory) {
+		return (ConfigurableListableBeanFactory) Proxy.newProxyInstance(
+				ConfigurableListableBeanFactory.class.getClassLoader(),
+				new Class<?>[] { ConfigurableListableBeanFactory.class },
+				(proxy, method, args) -> {
+					if (isGetTypeConverter(method)) {
+						return createTypeConverter(beanFactory);
+					}
+					try {
+						return method.invoke(beanFactory, args);
+					}
+					catch (InvocationTargetException e) {
+						throw e.getTargetException();
+					}
+				});
+	}
+
+	private static boolean isGetTypeConverter(Method method) {
+		return "getTypeConverter".equals(method.getName()) && method.getParameterCount() == 0;
+	}
+}
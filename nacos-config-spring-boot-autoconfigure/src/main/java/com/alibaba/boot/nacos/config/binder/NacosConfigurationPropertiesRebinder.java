@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.binder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.boot.nacos.config.event.NacosConfigDiffEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBean;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBindingPostProcessor;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 标准配置属性集重新绑定器
+ * Rebinds Spring Boot {@link ConfigurationProperties} beans in place when a
+ * {@link NacosConfigDiffEvent} reports changed keys under their prefix. Singletons that
+ * already exist are indexed by prefix once all singletons are instantiated, so lazy,
+ * prototype and scoped beans are never created early. The prefix matching is the one
+ * {@link NacosBootConfigurationPropertiesBinder} uses to skip unchanged binds, and the bind
+ * itself goes through {@link ConfigurationPropertiesBindingPostProcessor}, so conversion
+ * and validation are the same as at startup. Constructor bound beans are immutable and are
+ * left untouched.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigurationPropertiesRebinder
+		implements ApplicationListener<NacosConfigDiffEvent>, SmartInitializingSingleton {
+
+	public static final String BEAN_NAME = "nacosConfigurationPropertiesRebinder";
+
+	private final Logger logger = LoggerFactory
+			.getLogger(NacosConfigurationPropertiesRebinder.class);
+
+	private final ConfigurableApplicationContext applicationContext;
+
+	/**
+	 * 属性前缀到配置属性集 bean 的映射，所有单例实例化后建立
+	 */
+	private volatile Map<ConfigurationPropertyName, List<ConfigurationPropertiesBean>> prefixBeans;
+
+	/**
+	 * 重新绑定的次数
+	 */
+	private final AtomicLong rebindCount = new AtomicLong();
+
+	public NacosConfigurationPropertiesRebinder(
+			ConfigurableApplicationContext applicationContext) {
+		this.applicationContext = applicationContext;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		ConfigurableListableBeanFactory beanFactory = applicationContext.getBeanFactory();
+		Map<ConfigurationPropertyName, List<ConfigurationPropertiesBean>> index = new LinkedHashMap<>();
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			// 只索引已创建的单例，懒加载、原型与作用域 bean 不在这里被提前创建
+			if (!isCreatedSingleton(beanFactory, beanName)) {
+				continue;
+			}
+			ConfigurationPropertiesBean bean = ConfigurationPropertiesBean.get(applicationContext,
+					beanFactory.getSingleton(beanName), beanName);
+			if (bean == null
+					|| bean.getBindMethod() != ConfigurationPropertiesBean.BindMethod.JAVA_BEAN) {
+				continue;
+			}
+			ConfigurationPropertyName prefixName = NacosBootConfigurationPropertiesBinder
+					.adapt(bean.getAnnotation().prefix());
+			index.computeIfAbsent(prefixName, key -> new ArrayList<>(1)).add(bean);
+		}
+		prefixBeans = index;
+	}
+
+	private static boolean isCreatedSingleton(ConfigurableListableBeanFactory beanFactory,
+			String beanName) {
+		BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+		return definition.isSingleton() && !definition.isAbstract()
+				&& beanFactory.containsSingleton(beanName)
+				&& !beanFactory.isFactoryBean(beanName);
+	}
+
+	@Override
+	public synchronized void onApplicationEvent(NacosConfigDiffEvent event) {
+		final Map<ConfigurationPropertyName, List<ConfigurationPropertiesBean>> index = prefixBeans;
+		if (index == null) {
+			// 单例实例化前，创建中的 bean 从当前环境组件绑定
+			return;
+		}
+		Set<ConfigurationPropertyName> changedNames = new HashSet<>();
+		for (String key : event.getChangedKeys()) {
+			changedNames.add(NacosBootConfigurationPropertiesBinder.adapt(key));
+		}
+		for (Map.Entry<ConfigurationPropertyName, List<ConfigurationPropertiesBean>> entry : index
+				.entrySet()) {
+			if (!NacosBootConfigurationPropertiesBinder.overlaps(entry.getKey(), changedNames)) {
+				continue;
+			}
+			for (ConfigurationPropertiesBean bean : entry.getValue()) {
+				rebind(bean);
+			}
+		}
+	}
+
+	private void rebind(ConfigurationPropertiesBean bean) {
+		try {
+			Object target = getTargetObject(bean.getInstance());
+			applicationContext.getBean(ConfigurationPropertiesBindingPostProcessor.BEAN_NAME,
+					ConfigurationPropertiesBindingPostProcessor.class)
+					.postProcessBeforeInitialization(target, bean.getName());
+			rebindCount.incrementAndGet();
+			logger.info("rebind configuration properties bean '{}' with prefix '{}'",
+					bean.getName(), bean.getAnnotation().prefix());
+		}
+		catch (Exception e) {
+			logger.error("rebind configuration properties bean '" + bean.getName() + "' fail", e);
+		}
+	}
+
+	private static Object getTargetObject(Object candidate) throws Exception {
+		if (AopUtils.isAopProxy(candidate) && candidate instanceof Advised) {
+			Object target = ((Advised) candidate).getTargetSource().getTarget();
+			if (target != null) {
+				return target;
+			}
+		}
+		return candidate;
+	}
+
+	/**
+	 * 重新绑定的次数
+	 */
+	public long getRebindCount() {
+		return rebindCount.get();
+	}
+}
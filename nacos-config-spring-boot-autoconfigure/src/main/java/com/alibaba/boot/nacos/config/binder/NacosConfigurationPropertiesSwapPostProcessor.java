@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.binder;
+
+import java.lang.reflect.Modifier;
+
+import com.alibaba.nacos.api.config.annotation.NacosConfigurationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+
+/**
+ * 绑定到副本的后置处理器
+ * Exposes every {@link NacosConfigurationProperties} bean through a class proxy over a
+ * hot swappable target, so that {@link NacosBootConfigurationPropertiesBinder} can bind a
+ * refresh into a fresh instance and swap it in atomically. Readers never block and never
+ * see a half bound bean. Registered only when {@code nacos.config.bind-into-copy=true}.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigurationPropertiesSwapPostProcessor implements BeanPostProcessor {
+
+	public static final String BEAN_NAME = "nacosConfigurationPropertiesSwapPostProcessor";
+
+	private final Logger logger = LoggerFactory
+			.getLogger(NacosConfigurationPropertiesSwapPostProcessor.class);
+
+	private final NacosBootConfigurationPropertiesBinder binder;
+
+	public NacosConfigurationPropertiesSwapPostProcessor(
+			NacosBootConfigurationPropertiesBinder binder) {
+		this.binder = binder;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName)
+			throws BeansException {
+		Class<?> beanClass = bean.getClass();
+		if (AnnotationUtils.findAnnotation(beanClass, NacosConfigurationProperties.class) == null) {
+			return bean;
+		}
+		if (Modifier.isFinal(beanClass.getModifiers())) {
+			logger.warn("bean '{}' of {} is bound in place, binding into a copy needs a non-final class",
+					beanName, beanClass.getName());
+			return bean;
+		}
+		ProxyFactory proxyFactory = new ProxyFactory();
+		// 每个实例（如原型 bean）有自己的目标源
+		proxyFactory.setTargetSource(binder.getTargetSource(bean));
+		proxyFactory.setProxyTargetClass(true);
+		return proxyFactory.getProxy(beanClass.getClassLoader());
+	}
+}
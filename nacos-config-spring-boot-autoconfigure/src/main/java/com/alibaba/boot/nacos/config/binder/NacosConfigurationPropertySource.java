@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.binder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import com.alibaba.boot.nacos.config.util.NacosMergedPropertySource;
+import com.alibaba.boot.nacos.config.util.converter.NacosConversionService;
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationProperty;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
+import org.springframework.boot.context.properties.source.IterableConfigurationPropertySource;
+import org.springframework.boot.origin.PropertySourceOrigin;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * 配置属性源适配器
+ * An {@link IterableConfigurationPropertySource} over the parsed properties of a
+ * {@link NacosPropertySource} or a {@link NacosMergedPropertySource}. The mapping from
+ * {@link ConfigurationPropertyName} to property key, and the set of every ancestor name,
+ * are computed once per parsed map, so lookups and descendant checks are hash lookups
+ * instead of the relaxed-name scans of the generic adapter. Adapters are cached per
+ * property source and rebuilt when the source or its parsed map is replaced.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigurationPropertySource implements IterableConfigurationPropertySource {
+
+	/**
+	 * 配置属性源适配器缓存，键为配置属性源名称
+	 */
+	private static final ConcurrentMap<String, NacosConfigurationPropertySource> CACHE = new ConcurrentHashMap<>(16);
+
+	/**
+	 * 配置属性源
+	 */
+	private final PropertySource<?> propertySource;
+
+	/**
+	 * 解析后的属性
+	 */
+	private final Map<String, Object> properties;
+
+	/**
+	 * 配置属性名称到属性键的映射
+	 */
+	private final Map<ConfigurationPropertyName, String> mappings;
+
+	/**
+	 * 配置属性名称，按属性的顺序
+	 */
+	private final ConfigurationPropertyName[] names;
+
+	/**
+	 * 所有配置属性名称的祖先
+	 */
+	private final Set<ConfigurationPropertyName> ancestors;
+
+	NacosConfigurationPropertySource(PropertySource<?> propertySource,
+			Map<String, Object> properties) {
+		this.propertySource = propertySource;
+		this.properties = properties;
+		Map<ConfigurationPropertyName, String> mappings = new LinkedHashMap<>(
+				properties.size() * 4 / 3 + 1);
+		Set<ConfigurationPropertyName> ancestors = new HashSet<>();
+		for (String key : properties.keySet()) {
+			ConfigurationPropertyName name = NacosBootConfigurationPropertiesBinder.adapt(key);
+			if (name == null || name.isEmpty() || mappings.containsKey(name)) {
+				continue;
+			}
+			mappings.put(name, key);
+			for (int i = 0; i < name.getNumberOfElements(); i++) {
+				ancestors.add(name.chop(i));
+			}
+		}
+		this.mappings = mappings;
+		this.names = mappings.keySet().toArray(new ConfigurationPropertyName[0]);
+		this.ancestors = ancestors;
+	}
+
+	/**
+	 * 获取配置属性源的适配器，同一份解析后的属性只计算一次映射
+	 *
+	 * @param propertySource 配置属性源
+	 * @return 适配器，不支持的配置属性源为 {@code null}
+	 */
+	public static NacosConfigurationPropertySource from(PropertySource<?> propertySource) {
+		final Map<String, Object> properties;
+		if (propertySource instanceof NacosPropertySource) {
+			properties = ((NacosPropertySource) propertySource).getSource();
+		}
+		else if (propertySource instanceof NacosMergedPropertySource) {
+			properties = ((NacosMergedPropertySource) propertySource).getProperties();
+		}
+		else {
+			return null;
+		}
+		NacosConfigurationPropertySource cached = CACHE.get(propertySource.getName());
+		if (cached != null && cached.propertySource == propertySource
+				&& cached.properties == properties) {
+			return cached;
+		}
+		NacosConfigurationPropertySource adapter = new NacosConfigurationPropertySource(
+				propertySource, properties);
+		CACHE.put(propertySource.getName(), adapter);
+		return adapter;
+	}
+
+	/**
+	 * 创建环境组件的绑定器，配置属性源使用缓存的适配器
+	 *
+	 * @param environment 可配置的环境组件
+	 * @return 绑定器
+	 */
+	public static Binder getBinder(ConfigurableEnvironment environment) {
+		List<ConfigurationPropertySource> sources = new ArrayList<>();
+		for (PropertySource<?> propertySource : environment.getPropertySources()) {
+			ConfigurationPropertySource source = from(propertySource);
+			if (source == null) {
+				source = ConfigurationPropertySource.from(propertySource);
+			}
+			if (source != null) {
+				sources.add(source);
+			}
+		}
+		return new Binder(sources, new PropertySourcesPlaceholdersResolver(environment),
+				NacosConversionService.getSingleton());
+	}
+
+	@Override
+	public ConfigurationProperty getConfigurationProperty(ConfigurationPropertyName name) {
+		if (name == null) {
+			return null;
+		}
+		String key = mappings.get(name);
+		if (key == null) {
+			return null;
+		}
+		Object value = properties.get(key);
+		if (value == null) {
+			return null;
+		}
+		return new ConfigurationProperty(name, value, new PropertySourceOrigin(propertySource, key));
+	}
+
+	@Override
+	public Stream<ConfigurationPropertyName> stream() {
+		return Arrays.stream(names);
+	}
+
+	@Override
+	public ConfigurationPropertyState containsDescendantOf(ConfigurationPropertyName name) {
+		return ancestors.contains(name) ? ConfigurationPropertyState.PRESENT
+				: ConfigurationPropertyState.ABSENT;
+	}
+
+	@Override
+	public Object getUnderlyingSource() {
+		return propertySource;
+	}
+
+	@Override
+	public String toString() {
+		return propertySource.toString();
+	}
+}
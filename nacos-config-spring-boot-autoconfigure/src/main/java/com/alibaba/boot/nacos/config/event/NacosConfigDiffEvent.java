@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.event;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigEvent;
+
+/**
+ * 配置差异事件
+ * Published after an auto-refreshed property source has been replaced in the environment,
+ * carrying the key-level difference between the previous and the new parsed properties.
+ * It is not published when the new content parses to the same properties.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigDiffEvent extends NacosConfigEvent {
+
+	/**
+	 * 新增的属性
+	 */
+	private final Map<String, Object> added;
+
+	/**
+	 * 删除的属性，值为删除前的值
+	 */
+	private final Map<String, Object> removed;
+
+	/**
+	 * 变更的属性，值为变更后的值
+	 */
+	private final Map<String, Object> changed;
+
+	public NacosConfigDiffEvent(ConfigService configService, String dataId, String groupId,
+			Map<String, Object> added, Map<String, Object> removed,
+			Map<String, Object> changed) {
+		super(configService, dataId, groupId);
+		this.added = Collections.unmodifiableMap(added);
+		this.removed = Collections.unmodifiableMap(removed);
+		this.changed = Collections.unmodifiableMap(changed);
+	}
+
+	/**
+	 * 计算两份属性之间的差异
+	 *
+	 * @param previous 之前的属性，为 {@code null} 时视为全部新增
+	 * @param current  当前的属性
+	 * @return 差异事件，没有差异时为 {@code null}
+	 */
+	public static NacosConfigDiffEvent between(ConfigService configService, String dataId,
+			String groupId, Map<String, Object> previous, Map<String, Object> current) {
+		Map<String, Object> added = new LinkedHashMap<>();
+		Map<String, Object> removed = new LinkedHashMap<>();
+		Map<String, Object> changed = new LinkedHashMap<>();
+		if (previous == null) {
+			previous = Collections.emptyMap();
+		}
+		for (Map.Entry<String, Object> entry : current.entrySet()) {
+			String key = entry.getKey();
+			if (!previous.containsKey(key)) {
+				added.put(key, entry.getValue());
+			}
+			else if (!Objects.equals(previous.get(key), entry.getValue())) {
+				changed.put(key, entry.getValue());
+			}
+		}
+		for (Map.Entry<String, Object> entry : previous.entrySet()) {
+			if (!current.containsKey(entry.getKey())) {
+				removed.put(entry.getKey(), entry.getValue());
+			}
+		}
+		if (added.isEmpty() && removed.isEmpty() && changed.isEmpty()) {
+			return null;
+		}
+		return new NacosConfigDiffEvent(configService, dataId, groupId, added, removed,
+				changed);
+	}
+
+	public Map<String, Object> getAdded() {
+		return added;
+	}
+
+	public Map<String, Object> getRemoved() {
+		return removed;
+	}
+
+	public Map<String, Object> getChanged() {
+		return changed;
+	}
+
+	/**
+	 * 新增、删除与变更的属性名称
+	 */
+	public Set<String> getChangedKeys() {
+		Set<String> keys = new LinkedHashSet<>(
+				added.size() + removed.size() + changed.size());
+		keys.addAll(added.keySet());
+		keys.addAll(removed.keySet());
+		keys.addAll(changed.keySet());
+		return keys;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("NacosConfigDiffEvent{");
+		sb.append("dataId='").append(getDataId()).append('\'');
+		sb.append(", groupId='").append(getGroupId()).append('\'');
+		sb.append(", added=").append(added.keySet());
+		sb.append(", removed=").append(removed.keySet());
+		sb.append(", changed=").append(changed.keySet());
+		sb.append('}');
+		return sb.toString();
+	}
+}
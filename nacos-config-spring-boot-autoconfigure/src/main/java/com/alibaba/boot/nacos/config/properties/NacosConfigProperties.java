@@ -16,6 +16,7 @@
 package com.alibaba.boot.nacos.config.properties;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -135,6 +136,16 @@ public class NacosConfigProperties {
 	 */
 	private boolean remoteFirst = false;
 
+	/**
+	 * 合并配置属性源，所有非延迟加载的数据身份合并为一个按优先级解析好的配置属性源
+	 */
+	private boolean mergePropertySources = false;
+
+	/**
+	 * 绑定到副本，刷新时 {@code @NacosConfigurationProperties} bean 绑定到新的实例后再原子地替换，读取方不会看到绑定中的状态
+	 */
+	private boolean bindIntoCopy = false;
+
 	/**
 	 * 扩展配置
 	 */
@@ -147,6 +158,12 @@ public class NacosConfigProperties {
 	@NestedConfigurationProperty
 	private Bootstrap bootstrap = new Bootstrap();
 
+	/**
+	 * 自动刷新配置属性
+	 */
+	@NestedConfigurationProperty
+	private Refresh refresh = new Refresh();
+
 	public String getUsername() {
 		return username;
 	}
@@ -308,6 +325,22 @@ public class NacosConfigProperties {
 		this.remoteFirst = remoteFirst;
 	}
 
+	public boolean isMergePropertySources() {
+		return mergePropertySources;
+	}
+
+	public void setMergePropertySources(boolean mergePropertySources) {
+		this.mergePropertySources = mergePropertySources;
+	}
+
+	public boolean isBindIntoCopy() {
+		return bindIntoCopy;
+	}
+
+	public void setBindIntoCopy(boolean bindIntoCopy) {
+		this.bindIntoCopy = bindIntoCopy;
+	}
+
 	public List<Config> getExtConfig() {
 		return extConfig;
 	}
@@ -324,6 +357,14 @@ public class NacosConfigProperties {
 		this.bootstrap = bootstrap;
 	}
 
+	public Refresh getRefresh() {
+		return refresh;
+	}
+
+	public void setRefresh(Refresh refresh) {
+		this.refresh = refresh;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuffer sb = new StringBuffer("NacosConfigProperties{");
@@ -344,12 +385,61 @@ public class NacosConfigProperties {
 		sb.append(", configLongPollTimeout='").append(configLongPollTimeout).append('\'');
 		sb.append(", configRetryTime='").append(configRetryTime).append('\'');
 		sb.append(", enableRemoteSyncConfig=").append(enableRemoteSyncConfig);
+		sb.append(", mergePropertySources=").append(mergePropertySources);
+		sb.append(", bindIntoCopy=").append(bindIntoCopy);
 		sb.append(", extConfig=").append(extConfig);
 		sb.append(", bootstrap=").append(bootstrap);
+		sb.append(", refresh=").append(refresh);
 		sb.append('}');
 		return sb.toString();
 	}
 
+	/**
+	 * 自动刷新配置
+	 */
+	public static class Refresh {
+
+		/**
+		 * 静默窗口（毫秒），同一数据身份在窗口内的多次变更合并为一次刷新，小于等于 0 时不合并
+		 * The quiet window in milliseconds: changes of one data-id arriving within the
+		 * window are coalesced into one refresh with the latest content, a value of 0 or
+		 * less refreshes on every change
+		 */
+		private long quietWindow = 0;
+
+		/**
+		 * 最大延迟（毫秒），持续变更时从第一次变更起最迟在此时间后刷新，小于等于 0 时不限制
+		 * The maximum delay in milliseconds between the first change of a burst and its
+		 * refresh, a value of 0 or less means no limit
+		 */
+		private long maxDelay = 0;
+
+		public long getQuietWindow() {
+			return quietWindow;
+		}
+
+		public void setQuietWindow(long quietWindow) {
+			this.quietWindow = quietWindow;
+		}
+
+		public long getMaxDelay() {
+			return maxDelay;
+		}
+
+		public void setMaxDelay(long maxDelay) {
+			this.maxDelay = maxDelay;
+		}
+
+		@Override
+		public String toString() {
+			final StringBuffer sb = new StringBuffer("Refresh{");
+			sb.append("quietWindow=").append(quietWindow);
+			sb.append(", maxDelay=").append(maxDelay);
+			sb.append('}');
+			return sb.toString();
+		}
+	}
+
 	/**
 	 * 引导配置
 	 */
@@ -366,10 +456,54 @@ public class NacosConfigProperties {
 		private boolean logEnable;
 
 		/**
-		 * 快照启用
+		 * 日志配置变更时只有日志级别变化则增量设置级别，不重新初始化日志系统
+		 * Apply a changed log configuration that only differs in logger levels through
+		 * {@code LoggingSystem#setLogLevel}, keeping the appenders running, instead of
+		 * re-initializing the logging system. Disabled by default, since levels set this way
+		 * are not reset by a later full re-initialization the way file-defined levels are
+		 */
+		private boolean logDiffEnable;
+
+		/**
+		 * 日志配置的候选数据身份，按优先级排列，支持占位符（如 ${spring.application.name}-logback.xml）
+		 * The candidate data-ids of the log configuration in order of precedence,
+		 * placeholders are resolved against the environment
+		 */
+		private List<String> logDataIds = new ArrayList<>(Arrays.asList("logback.xml", "log4j2.xml"));
+
+		/**
+		 * 日志配置的分组，未设置时使用配置分组
+		 * The group of the log configuration, defaults to the config group
+		 */
+		private String logGroup;
+
+		/**
+		 * 并发探测日志配置候选数据身份的总超时时间（毫秒），小于等于 0 时不限制
+		 * The overall time budget in milliseconds for probing the candidate log data-ids,
+		 * a value of 0 or less means no limit
+		 */
+		private long logTimeout = 0;
+
+		/**
+		 * 快照启用，开启后引导阶段优先使用本地快照构建配置属性源，并在后台与服务端重新校验
 		 */
 		private boolean snapshotEnable;
 
+		/**
+		 * 引导阶段并发拉取配置的最大线程数，小于等于 1 时按顺序拉取
+		 * The maximum number of data-ids fetched concurrently while bootstrapping,
+		 * a value of 1 or less keeps the sequential behaviour
+		 */
+		private int concurrency = 1;
+
+		/**
+		 * 引导阶段拉取远程配置的总超时时间（毫秒），超时后降级为本地快照或空配置并在后台追赶，
+		 * 小于等于 0 时不限制
+		 * The overall time budget in milliseconds for fetching remote configs while
+		 * bootstrapping, a value of 0 or less means no limit
+		 */
+		private long timeout = 0;
+
 		public boolean isEnable() {
 			return enable;
 		}
@@ -386,6 +520,38 @@ public class NacosConfigProperties {
 			this.logEnable = logEnable;
 		}
 
+		public boolean isLogDiffEnable() {
+			return logDiffEnable;
+		}
+
+		public void setLogDiffEnable(boolean logDiffEnable) {
+			this.logDiffEnable = logDiffEnable;
+		}
+
+		public List<String> getLogDataIds() {
+			return logDataIds;
+		}
+
+		public void setLogDataIds(List<String> logDataIds) {
+			this.logDataIds = logDataIds;
+		}
+
+		public String getLogGroup() {
+			return logGroup;
+		}
+
+		public void setLogGroup(String logGroup) {
+			this.logGroup = logGroup;
+		}
+
+		public long getLogTimeout() {
+			return logTimeout;
+		}
+
+		public void setLogTimeout(long logTimeout) {
+			this.logTimeout = logTimeout;
+		}
+
 		public boolean isSnapshotEnable() {
 			return snapshotEnable;
 		}
@@ -394,12 +560,34 @@ public class NacosConfigProperties {
 			this.snapshotEnable = snapshotEnable;
 		}
 
+		public int getConcurrency() {
+			return concurrency;
+		}
+
+		public void setConcurrency(int concurrency) {
+			this.concurrency = concurrency;
+		}
+
+		public long getTimeout() {
+			return timeout;
+		}
+
+		public void setTimeout(long timeout) {
+			this.timeout = timeout;
+		}
+
 		@Override
 		public String toString() {
 			final StringBuffer sb = new StringBuffer("Bootstrap{");
 			sb.append("enable=").append(enable);
 			sb.append(", snapshotEnable=").append(snapshotEnable);
 			sb.append(", logEnable=").append(logEnable);
+			sb.append(", logDiffEnable=").append(logDiffEnable);
+			sb.append(", logDataIds=").append(logDataIds);
+			sb.append(", logGroup='").append(logGroup).append('\'');
+			sb.append(", logTimeout=").append(logTimeout);
+			sb.append(", concurrency=").append(concurrency);
+			sb.append(", timeout=").append(timeout);
 			sb.append('}');
 			return sb.toString();
 		}
@@ -485,6 +673,11 @@ public class NacosConfigProperties {
 		 */
 		private boolean enableRemoteSyncConfig = false;
 
+		/**
+		 * 延迟加载，启动时只注册占位的配置属性源，启动后在后台拉取配置，拉取完成前不提供任何属性
+		 */
+		private boolean lazy = false;
+
 		/**
 		 * 用户名称
 		 */
@@ -631,6 +824,14 @@ public class NacosConfigProperties {
 			this.enableRemoteSyncConfig = enableRemoteSyncConfig;
 		}
 
+		public boolean isLazy() {
+			return lazy;
+		}
+
+		public void setLazy(boolean lazy) {
+			this.lazy = lazy;
+		}
+
 		@Override
 		public String toString() {
 			final StringBuffer sb = new StringBuffer("Config{");
@@ -650,6 +851,7 @@ public class NacosConfigProperties {
 			sb.append(", configRetryTime='").append(configRetryTime).append('\'');
 			sb.append(", autoRefresh=").append(autoRefresh);
 			sb.append(", enableRemoteSyncConfig=").append(enableRemoteSyncConfig);
+			sb.append(", lazy=").append(lazy);
 			sb.append('}');
 			return sb.toString();
 		}
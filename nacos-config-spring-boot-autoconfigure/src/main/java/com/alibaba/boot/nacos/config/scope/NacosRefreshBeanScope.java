@@ -0,0 +1,400 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.scope;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.boot.nacos.config.event.NacosConfigDiffEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.aop.scope.ScopedProxyFactoryBean;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * 配置刷新作用域的实现
+ * Keeps one instance per bean. A {@link NacosConfigDiffEvent} only flips a stale flag on
+ * the beans depending on the changed data-id; the bean is re-created on its next access.
+ * The scoped proxy counts the calls in flight on each instance, so the previous instance
+ * is destroyed once the last call still using it has returned. Reading a fresh instance
+ * is a map lookup, two volatile reads and a counter update, only a stale or missing
+ * instance takes the bean's lock.
+ *
+ * @author bert82503
+ * @see NacosRefreshScope
+ * @since 0.2.12
+ */
+public class NacosRefreshBeanScope implements Scope, BeanFactoryPostProcessor,
+		ApplicationListener<NacosConfigDiffEvent>, DisposableBean {
+
+	public static final String BEAN_NAME = "nacosRefreshBeanScope";
+
+	public static final String SCOPE_NAME = "nacosRefresh";
+
+	private final Logger logger = LoggerFactory.getLogger(NacosRefreshBeanScope.class);
+
+	/**
+	 * 作用域中的 bean，键为 bean 名称
+	 */
+	private final ConcurrentMap<String, ScopedBean> scopedBeans = new ConcurrentHashMap<>(16);
+
+	/**
+	 * 当前线程是否正在通过作用域代理获取实例
+	 */
+	private final ThreadLocal<Boolean> acquiring = new ThreadLocal<>();
+
+	/**
+	 * 当前线程通过作用域代理获取的实例
+	 */
+	private final ThreadLocal<Generation> acquired = new ThreadLocal<>();
+
+	/**
+	 * 当前线程调用中的实例，嵌套调用时后进先出
+	 */
+	private final ThreadLocal<Deque<Generation>> inFlight = ThreadLocal.withInitial(ArrayDeque::new);
+
+	private ConfigurableListableBeanFactory beanFactory;
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory)
+			throws BeansException {
+		this.beanFactory = beanFactory;
+		beanFactory.registerScope(SCOPE_NAME, this);
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+			if (isScopedProxy(beanFactory, beanDefinition)) {
+				// 代理的每次调用都计数，被替换的实例在调用结束后销毁
+				((AbstractBeanDefinition) beanDefinition)
+						.setBeanClass(NacosRefreshScopedProxyFactoryBean.class);
+			}
+		}
+	}
+
+	private static boolean isScopedProxy(ConfigurableListableBeanFactory beanFactory,
+			BeanDefinition beanDefinition) {
+		if (!(beanDefinition instanceof AbstractBeanDefinition)
+				|| !ScopedProxyFactoryBean.class.getName().equals(beanDefinition.getBeanClassName())) {
+			return false;
+		}
+		Object targetBeanName = beanDefinition.getPropertyValues().get("targetBeanName");
+		return targetBeanName instanceof String
+				&& beanFactory.containsBeanDefinition((String) targetBeanName)
+				&& SCOPE_NAME.equals(beanFactory.getBeanDefinition((String) targetBeanName).getScope());
+	}
+
+	@Override
+	public Object get(String name, ObjectFactory<?> objectFactory) {
+		// 通过作用域代理获取时计入调用中的次数
+		final boolean track = acquiring.get() != null;
+		acquiring.remove();
+		ScopedBean scopedBean = scopedBeans.get(name);
+		if (scopedBean == null) {
+			scopedBean = scopedBeans.computeIfAbsent(name,
+					key -> new ScopedBean(resolveDataIds(key)));
+		}
+		for (;;) {
+			Generation generation = scopedBean.current;
+			if (generation == null || scopedBean.stale) {
+				generation = recreate(name, scopedBean, objectFactory);
+			}
+			if (!track) {
+				return generation.instance;
+			}
+			generation.inFlight.incrementAndGet();
+			if (!generation.retired) {
+				acquired.set(generation);
+				return generation.instance;
+			}
+			// 计数前已被替换，改用新的实例
+			exit(generation);
+		}
+	}
+
+	private Generation recreate(String name, ScopedBean scopedBean, ObjectFactory<?> objectFactory) {
+		synchronized (scopedBean) {
+			Generation previous = scopedBean.current;
+			if (previous != null && !scopedBean.stale) {
+				return previous;
+			}
+			scopedBean.pendingCallback = null;
+			// 先清除标记，创建期间的变更会再次标记
+			scopedBean.stale = false;
+			Object instance;
+			try {
+				instance = objectFactory.getObject();
+			}
+			catch (RuntimeException e) {
+				scopedBean.stale = previous != null;
+				throw e;
+			}
+			Generation generation = new Generation(name, instance, scopedBean.pendingCallback);
+			scopedBean.pendingCallback = null;
+			scopedBean.current = generation;
+			if (previous != null) {
+				logger.info("re-created bean '{}' of scope '{}'", name, SCOPE_NAME);
+				retire(previous);
+			}
+			return generation;
+		}
+	}
+
+	@Override
+	public Object remove(String name) {
+		ScopedBean scopedBean = scopedBeans.remove(name);
+		Generation generation = scopedBean != null ? scopedBean.current : null;
+		return generation != null ? generation.instance : null;
+	}
+
+	@Override
+	public void registerDestructionCallback(String name, Runnable callback) {
+		ScopedBean scopedBean = scopedBeans.get(name);
+		if (scopedBean != null) {
+			scopedBean.pendingCallback = callback;
+		}
+	}
+
+	@Override
+	public Object resolveContextualObject(String key) {
+		return null;
+	}
+
+	@Override
+	public String getConversationId() {
+		return SCOPE_NAME;
+	}
+
+	@Override
+	public void onApplicationEvent(NacosConfigDiffEvent event) {
+		for (Map.Entry<String, ScopedBean> entry : scopedBeans.entrySet()) {
+			ScopedBean scopedBean = entry.getValue();
+			if (scopedBean.dependsOn(event.getDataId())) {
+				scopedBean.stale = true;
+				logger.debug("bean '{}' of scope '{}' is stale after data-id '{}' changed",
+						entry.getKey(), SCOPE_NAME, event.getDataId());
+			}
+		}
+	}
+
+	/**
+	 * 标记 bean 过期，下次访问时重建
+	 *
+	 * @param name bean 名称
+	 * @return bean 是否在作用域中
+	 */
+	public boolean markStale(String name) {
+		ScopedBean scopedBean = scopedBeans.get(name);
+		if (scopedBean == null) {
+			return false;
+		}
+		scopedBean.stale = true;
+		return true;
+	}
+
+	@Override
+	public void destroy() {
+		for (ScopedBean scopedBean : scopedBeans.values()) {
+			Generation generation = scopedBean.current;
+			if (generation != null) {
+				retire(generation);
+			}
+		}
+		scopedBeans.clear();
+	}
+
+	/**
+	 * 作用域代理开始获取目标实例
+	 */
+	void beginAcquire() {
+		acquired.remove();
+		acquiring.set(Boolean.TRUE);
+	}
+
+	/**
+	 * 作用域代理结束获取目标实例，成功获取的实例在调用结束前不会被销毁
+	 *
+	 * @param success 是否成功获取
+	 */
+	void endAcquire(boolean success) {
+		acquiring.remove();
+		Generation generation = acquired.get();
+		acquired.remove();
+		if (generation == null) {
+			return;
+		}
+		if (success) {
+			inFlight.get().push(generation);
+		}
+		else {
+			exit(generation);
+		}
+	}
+
+	/**
+	 * 作用域代理的调用结束，释放目标实例
+	 */
+	void release(Object target) {
+		Deque<Generation> generations = inFlight.get();
+		Generation generation = generations.peek();
+		if (generation == null || generation.instance != target) {
+			return;
+		}
+		generations.pop();
+		if (generations.isEmpty()) {
+			inFlight.remove();
+		}
+		exit(generation);
+	}
+
+	/**
+	 * 实例被替换，没有调用中的请求时立即销毁，否则由最后一个调用销毁
+	 */
+	private void retire(Generation generation) {
+		generation.retired = true;
+		if (generation.inFlight.get() == 0) {
+			destroy(generation);
+		}
+	}
+
+	private void exit(Generation generation) {
+		if (generation.inFlight.decrementAndGet() == 0 && generation.retired) {
+			destroy(generation);
+		}
+	}
+
+	private void destroy(Generation generation) {
+		Runnable callback = generation.destructionCallback;
+		if (callback == null || !generation.destroyed.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			callback.run();
+		}
+		catch (RuntimeException e) {
+			logger.warn("destroy bean '" + generation.name + "' of scope '" + SCOPE_NAME + "' fail", e);
+		}
+	}
+
+	/**
+	 * 从 bean 定义上的 {@link NacosRefreshScope} 获取依赖的数据身份
+	 */
+	private Set<String> resolveDataIds(String name) {
+		if (beanFactory == null || !beanFactory.containsBeanDefinition(name)) {
+			return Collections.emptySet();
+		}
+		BeanDefinition beanDefinition = beanFactory.getBeanDefinition(name);
+		if (!(beanDefinition instanceof AnnotatedBeanDefinition)) {
+			return Collections.emptySet();
+		}
+		AnnotatedBeanDefinition annotatedBeanDefinition = (AnnotatedBeanDefinition) beanDefinition;
+		AnnotatedTypeMetadata metadata = annotatedBeanDefinition.getFactoryMethodMetadata();
+		if (metadata == null) {
+			metadata = annotatedBeanDefinition.getMetadata();
+		}
+		Map<String, Object> attributes = metadata
+				.getAnnotationAttributes(NacosRefreshScope.class.getName());
+		if (attributes == null) {
+			return Collections.emptySet();
+		}
+		return new HashSet<>(Arrays.asList((String[]) attributes.get("dataIds")));
+	}
+
+	/**
+	 * 作用域中的 bean
+	 */
+	private static final class ScopedBean {
+		/**
+		 * 依赖的数据身份，为空时依赖所有数据身份
+		 */
+		private final Set<String> dataIds;
+		/**
+		 * 当前实例
+		 */
+		private volatile Generation current;
+		/**
+		 * 是否过期
+		 */
+		private volatile boolean stale;
+		/**
+		 * 创建中的实例的销毁回调
+		 */
+		private volatile Runnable pendingCallback;
+
+		ScopedBean(Set<String> dataIds) {
+			this.dataIds = dataIds;
+		}
+
+		boolean dependsOn(String dataId) {
+			return dataIds.isEmpty() || dataIds.contains(dataId);
+		}
+	}
+
+	/**
+	 * bean 的一个实例
+	 */
+	static final class Generation {
+		/**
+		 * bean 名称
+		 */
+		private final String name;
+		/**
+		 * 实例
+		 */
+		private final Object instance;
+		/**
+		 * 销毁回调
+		 */
+		private final Runnable destructionCallback;
+		/**
+		 * 调用中的次数
+		 */
+		private final AtomicInteger inFlight = new AtomicInteger();
+		/**
+		 * 是否已被替换
+		 */
+		private volatile boolean retired;
+		/**
+		 * 是否已销毁
+		 */
+		private final AtomicBoolean destroyed = new AtomicBoolean();
+
+		Generation(String name, Object instance, Runnable destructionCallback) {
+			this.name = name;
+			this.instance = instance;
+			this.destructionCallback = destructionCallback;
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.scope;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.core.annotation.AliasFor;
+
+/**
+ * 配置刷新作用域
+ * A bean in this scope is reached through a class proxy; when one of the data-ids it
+ * depends on changes, the instance is marked stale and re-created on its next access.
+ *
+ * @author bert82503
+ * @see NacosRefreshBeanScope
+ * @since 0.2.12
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Scope(NacosRefreshBeanScope.SCOPE_NAME)
+public @interface NacosRefreshScope {
+
+	/**
+	 * 依赖的数据身份，为空时任何数据身份的变化都会重建 bean
+	 */
+	String[] dataIds() default {};
+
+	/**
+	 * 代理模式，默认为类代理
+	 */
+	@AliasFor(annotation = Scope.class)
+	ScopedProxyMode proxyMode() default ScopedProxyMode.TARGET_CLASS;
+}
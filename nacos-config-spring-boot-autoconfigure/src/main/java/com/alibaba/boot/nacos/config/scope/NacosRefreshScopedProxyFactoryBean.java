@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.scope;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.scope.ScopedProxyFactoryBean;
+import org.springframework.aop.target.SimpleBeanTargetSource;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+
+/**
+ * 配置刷新作用域的代理工厂
+ * Builds the same scoped proxy as {@link ScopedProxyFactoryBean}, with a target source
+ * that tells {@link NacosRefreshBeanScope} when a call on the target starts and ends.
+ *
+ * @author bert82503
+ * @see NacosRefreshBeanScope
+ * @since 0.2.12
+ */
+public class NacosRefreshScopedProxyFactoryBean extends ScopedProxyFactoryBean {
+
+	/**
+	 * 目标 bean 名称
+	 */
+	private String targetBeanName;
+
+	@Override
+	public void setTargetBeanName(String targetBeanName) {
+		super.setTargetBeanName(targetBeanName);
+		this.targetBeanName = targetBeanName;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+		super.setBeanFactory(beanFactory);
+		NacosRefreshBeanScope scope = (NacosRefreshBeanScope) ((ConfigurableBeanFactory) beanFactory)
+				.getRegisteredScope(NacosRefreshBeanScope.SCOPE_NAME);
+		TrackingTargetSource targetSource = new TrackingTargetSource(scope);
+		targetSource.setTargetBeanName(targetBeanName);
+		targetSource.setBeanFactory(beanFactory);
+		((Advised) getObject()).setTargetSource(targetSource);
+	}
+
+	/**
+	 * 记录调用中的目标实例
+	 */
+	private static final class TrackingTargetSource extends SimpleBeanTargetSource {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient NacosRefreshBeanScope scope;
+
+		TrackingTargetSource(NacosRefreshBeanScope scope) {
+			this.scope = scope;
+		}
+
+		@Override
+		public Object getTarget() throws Exception {
+			scope.beginAcquire();
+			boolean success = false;
+			try {
+				Object target = super.getTarget();
+				success = true;
+				return target;
+			}
+			finally {
+				scope.endAcquire(success);
+			}
+		}
+
+		@Override
+		public void releaseTarget(Object target) {
+			scope.release(target);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.support;
+
+import java.util.Map;
+
+import com.alibaba.boot.nacos.config.util.NacosConfigParseCache;
+import com.alibaba.nacos.spring.util.parse.DefaultPropertiesConfigParse;
+
+/**
+ * properties parse through {@link NacosConfigParseCache}.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class CachingPropertiesConfigParse extends DefaultPropertiesConfigParse {
+
+    @Override
+    public Map<String, Object> parse(String configText) {
+        return NacosConfigParseCache.getSingleton().get(processType(), configText, super::parse);
+    }
+
+}
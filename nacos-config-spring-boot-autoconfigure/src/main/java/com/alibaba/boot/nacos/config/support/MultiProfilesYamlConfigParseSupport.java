@@ -16,6 +16,7 @@
  */
 package com.alibaba.boot.nacos.config.support;
 
+import com.alibaba.boot.nacos.config.util.NacosConfigParseCache;
 import com.alibaba.nacos.spring.core.env.AbstractNacosPropertySourceBuilder;
 import com.alibaba.nacos.spring.core.env.NacosPropertySource;
 import com.alibaba.nacos.spring.util.parse.DefaultYamlConfigParse;
@@ -24,9 +25,30 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.env.EnvironmentPostProcessor;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Profiles;
+import org.springframework.util.StringUtils;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
 
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 /**
  * yaml multi profiles.
@@ -37,6 +59,10 @@ import java.util.concurrent.atomic.AtomicReference;
  * 2. {@link NacosPropertySource#NacosPropertySource(String, String, String, String, String)}<br/>
  * 3. {@link com.alibaba.nacos.spring.util.NacosUtils#toProperties(String, String, String, String)}<br/>
  * 4. {@link com.alibaba.nacos.spring.util.ConfigParseUtils#toProperties(String, String, String, String)}<br/>
+ * <p>
+ * Documents are composed one at a time and their {@code spring.config.activate.on-profile}
+ * or {@code spring.profiles} marker, a profile expression such as {@code prod & !canary},
+ * is read from the node tree; only active documents are constructed and flattened.
  *
  * @author <a href="mailto:yanglu_u@126.com">dbses</a>
  */
@@ -44,53 +70,284 @@ public class MultiProfilesYamlConfigParseSupport extends DefaultYamlConfigParse
 
     private static final String SPRING_PROFILES = "spring.profiles";
 
-    private static String[] profileArray = {};
+    private static final String SPRING_CONFIG_ACTIVATE_ON_PROFILE = "spring.config.activate.on-profile";
+
+    /**
+     * 当前线程解析配置时所属的环境组件
+     */
+    private static final ThreadLocal<ConfigurableEnvironment> CURRENT_ENVIRONMENT = new ThreadLocal<>();
+
+    /**
+     * 环境组件的解析上下文，以环境组件的身份为键；也记录处理过的环境组件，供没有绑定环境组件的解析推断 profile
+     */
+    private static final Map<ConfigurableEnvironment, ProfileContext> ENVIRONMENT_CONTEXTS = new WeakHashMap<>();
+
+    /**
+     * 解析上下文，以排序后的 profile 组合为键，profile 相同的环境组件共享
+     */
+    private static final ConcurrentMap<String, ProfileContext> PROFILE_CONTEXTS = new ConcurrentHashMap<>(4);
+
+    /**
+     * 默认 profile
+     */
+    private static final String[] DEFAULT_PROFILES = {"default"};
 
     @Override
     public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        final ProfileContext context = contextOf(resolveProfiles(environment));
+        synchronized (ENVIRONMENT_CONTEXTS) {
+            ENVIRONMENT_CONTEXTS.put(environment, context);
+        }
+    }
+
+    /**
+     * 在环境组件的 profile 下执行配置解析
+     *
+     * @param environment 可配置的环境组件
+     * @param parser      解析配置的操作
+     * @param <T>         解析结果的类型
+     * @return 解析结果
+     */
+    public static <T> T parseWith(ConfigurableEnvironment environment, Supplier<T> parser) {
+        final ConfigurableEnvironment previous = CURRENT_ENVIRONMENT.get();
+        CURRENT_ENVIRONMENT.set(environment);
+        try {
+            return parser.get();
+        } finally {
+            if (previous != null) {
+                CURRENT_ENVIRONMENT.set(previous);
+            } else {
+                CURRENT_ENVIRONMENT.remove();
+            }
+        }
+    }
+
+    private static String[] resolveProfiles(ConfigurableEnvironment environment) {
         String[] profiles = environment.getActiveProfiles();
         // fall back to default profiles
         if (profiles.length == 0) {
             profiles = environment.getDefaultProfiles();
         }
-        // set once
-        if (profileArray.length == 0) {
-            profileArray = profiles;
+        return profiles;
+    }
+
+    /**
+     * 当前线程的解析上下文
+     */
+    private static ProfileContext currentContext() {
+        final ConfigurableEnvironment environment = CURRENT_ENVIRONMENT.get();
+        if (environment == null) {
+            return fallbackContext();
+        }
+        final String[] profiles = resolveProfiles(environment);
+        synchronized (ENVIRONMENT_CONTEXTS) {
+            ProfileContext context = ENVIRONMENT_CONTEXTS.get(environment);
+            // 环境组件的 profile 可能在启动过程中变化
+            if (context == null || !context.matches(profiles)) {
+                context = contextOf(profiles);
+                ENVIRONMENT_CONTEXTS.put(environment, context);
+            }
+            return context;
         }
     }
 
+    /**
+     * 没有绑定环境组件时（如 nacos-spring 内部的解析）的解析上下文：处理过的环境组件的 profile 一致时使用该 profile，
+     * 否则无法确定所属的环境组件，使用默认 profile
+     */
+    private static ProfileContext fallbackContext() {
+        final List<ConfigurableEnvironment> environments;
+        synchronized (ENVIRONMENT_CONTEXTS) {
+            environments = new ArrayList<>(ENVIRONMENT_CONTEXTS.keySet());
+        }
+        ProfileContext found = null;
+        // 在锁外读取 profile，读取可能触发配置的加载与解析
+        for (ConfigurableEnvironment environment : environments) {
+            ProfileContext context = contextOf(resolveProfiles(environment));
+            if (found != null && found != context) {
+                return contextOf(DEFAULT_PROFILES);
+            }
+            found = context;
+        }
+        return found != null ? found : contextOf(DEFAULT_PROFILES);
+    }
+
+    private static ProfileContext contextOf(String[] profiles) {
+        final Set<String> activeProfiles = new TreeSet<>(Arrays.asList(profiles));
+        final String key = StringUtils.collectionToCommaDelimitedString(activeProfiles);
+        return PROFILE_CONTEXTS.computeIfAbsent(key, k -> new ProfileContext(k, activeProfiles));
+    }
+
     @Override
     public Map<String, Object> parse(String configText) {
-        final AtomicReference<Map<String, Object>> result = new AtomicReference<>();
-        process(map -> {
-            // first block
-            if (result.get() == null) {
-                result.set(map);
+        final ProfileContext context = currentContext();
+        // 解析结果依赖激活的 profile，profile 相同的环境组件共享
+        return NacosConfigParseCache.getSingleton().get(context.cacheType, configText,
+                text -> parse(text, context.activeProfiles));
+    }
+
+    private Map<String, Object> parse(String configText, Set<String> activeProfiles) {
+        final DocumentConstructor constructor = new DocumentConstructor();
+        final Yaml yaml = new Yaml(constructor);
+        Map<String, Object> result = null;
+        // 逐个文档组装节点，先读取文档的 profile 标记，未激活的文档不再构造与展开
+        for (Node node : yaml.composeAll(new StringReader(configText))) {
+            if (!isActive(node, activeProfiles)) {
+                continue;
+            }
+            Map<String, Object> map = new LinkedHashMap<>();
+            flatten(map, null, toDocumentMap(constructor.construct(node)));
+            if (result == null) {
+                result = map;
             } else {
-                setFromOtherBlock(result, map);
+                result.putAll(map);
             }
-        }, createYaml(), configText);
-        return result.get();
+        }
+        return result != null ? result : new LinkedHashMap<>();
+    }
+
+    /**
+     * 文档是否激活：没有 profile 标记，或 profile 表达式与当前 profile 匹配
+     */
+    private static boolean isActive(Node node, Set<String> activeProfiles) {
+        if (!(node instanceof MappingNode)) {
+            return true;
+        }
+        String expression = findScalar((MappingNode) node, SPRING_CONFIG_ACTIVATE_ON_PROFILE);
+        if (expression == null) {
+            expression = findScalar((MappingNode) node, SPRING_PROFILES);
+        }
+        if (expression == null) {
+            return true;
+        }
+        String[] expressions = StringUtils.commaDelimitedListToStringArray(expression);
+        if (expressions.length == 0) {
+            return true;
+        }
+        return Profiles.of(StringUtils.trimArrayElements(expressions)).matches(activeProfiles::contains);
+    }
+
+    /**
+     * 按属性路径查找标量的值，路径的各段可以是嵌套的键，也可以是带点的键；序列的值以逗号连接
+     */
+    private static String findScalar(MappingNode node, String path) {
+        for (NodeTuple tuple : node.getValue()) {
+            if (!(tuple.getKeyNode() instanceof ScalarNode)) {
+                continue;
+            }
+            String key = ((ScalarNode) tuple.getKeyNode()).getValue();
+            Node value = tuple.getValueNode();
+            if (path.equals(key)) {
+                if (value instanceof ScalarNode) {
+                    return ((ScalarNode) value).getValue();
+                }
+                if (value instanceof SequenceNode) {
+                    List<String> values = new ArrayList<>();
+                    for (Node item : ((SequenceNode) value).getValue()) {
+                        if (item instanceof ScalarNode) {
+                            values.add(((ScalarNode) item).getValue());
+                        }
+                    }
+                    return StringUtils.collectionToCommaDelimitedString(values);
+                }
+                return null;
+            }
+            if (path.startsWith(key + ".") && value instanceof MappingNode) {
+                String found = findScalar((MappingNode) value, path.substring(key.length() + 1));
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
     }
 
-    private void setFromOtherBlock(AtomicReference<Map<String, Object>> result, Map<String, Object> map) {
-        if (map.get(SPRING_PROFILES) == null) {
-            result.get().putAll(map);
-            return;
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toDocumentMap(Object object) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!(object instanceof Map)) {
+            // 非映射的文档
+            result.put("document", object);
+            return result;
         }
+        for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) object).entrySet()) {
+            Object key = entry.getKey();
+            Object value = entry.getValue();
+            if (value instanceof Map) {
+                value = toDocumentMap(value);
+            }
+            if (key instanceof CharSequence) {
+                result.put(key.toString(), value);
+            } else {
+                result.put("[" + key.toString() + "]", value);
+            }
+        }
+        return result;
+    }
 
-        for (String profile : profileArray) {
-            if (profile.equals(map.get(SPRING_PROFILES))) {
-                result.get().putAll(map);
+    /**
+     * 展开嵌套的属性，与 Spring 的 YamlProcessor 一致
+     */
+    @SuppressWarnings("unchecked")
+    private static void flatten(Map<String, Object> result, String path, Map<String, Object> source) {
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            String key = entry.getKey();
+            if (StringUtils.hasText(path)) {
+                key = key.startsWith("[") ? path + key : path + "." + key;
+            }
+            Object value = entry.getValue();
+            if (value instanceof String) {
+                result.put(key, value);
+            } else if (value instanceof Map) {
+                flatten(result, key, (Map<String, Object>) value);
+            } else if (value instanceof Collection) {
+                Collection<Object> collection = (Collection<Object>) value;
+                if (collection.isEmpty()) {
+                    result.put(key, "");
+                } else {
+                    int count = 0;
+                    for (Object item : collection) {
+                        flatten(result, key, Collections.singletonMap("[" + (count++) + "]", item));
+                    }
+                }
+            } else {
+                result.put(key, (value != null ? value : ""));
             }
         }
     }
 
     /**
-     * for unit test
+     * 可以构造单个文档节点的构造器
      */
-    static void setProfileArray(String[] profiles) {
-        profileArray = profiles;
+    private static final class DocumentConstructor extends SafeConstructor {
+
+        Object construct(Node node) {
+            return constructDocument(node);
+        }
+    }
+
+    /**
+     * 解析上下文
+     */
+    private static final class ProfileContext {
+        /**
+         * 激活的 profile
+         */
+        private final Set<String> activeProfiles;
+        /**
+         * 解析缓存中的配置类型
+         */
+        private final String cacheType;
+
+        ProfileContext(String key, Set<String> activeProfiles) {
+            this.activeProfiles = Collections.unmodifiableSet(activeProfiles);
+            this.cacheType = "yaml[" + key + "]";
+        }
+
+        boolean matches(String[] profiles) {
+            return activeProfiles.size() == profiles.length
+                    && activeProfiles.containsAll(Arrays.asList(profiles));
+        }
     }
 
 }
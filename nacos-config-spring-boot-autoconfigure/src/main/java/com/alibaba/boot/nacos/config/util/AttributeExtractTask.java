@@ -16,6 +16,7 @@
  */
 package com.alibaba.boot.nacos.config.util;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -47,10 +48,21 @@ public class AttributeExtractTask implements Callable<Map<String, String>> {
 	public Map<String, String> call() throws Exception {
 		List<Map<String, String>> defer = new LinkedList<>();
 		MutablePropertySources mutablePropertySources = environment.getPropertySources();
+		PropertySourcePrefixIndex index = PropertySourcePrefixIndex.forEnvironment(environment);
+		List<String> names = new ArrayList<>();
 
 		for (PropertySource propertySource : mutablePropertySources) {
-			calculate(propertySource.getSource(), defer);
+			names.add(propertySource.getName());
+			// 不可变的属性源走前缀索引，其余的逐个扫描
+			Map<String, String> indexed = index.extract(propertySource, prefix);
+			if (indexed == null) {
+				calculate(propertySource.getSource(), defer);
+			}
+			else if (!indexed.isEmpty()) {
+				defer.add(indexed);
+			}
 		}
+		index.retain(names);
 
 		Map<String, String> result = new HashMap<>(32);
 		Collections.reverse(defer);
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util;
+
+import java.util.function.Supplier;
+
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MutablePropertySources;
+
+/**
+ * 延迟加载的配置属性源
+ * Placeholder for a lazy ext-config data-id. The config is prefetched by a background task
+ * after the bootstrap, the placeholder then replaces itself with the loaded
+ * {@link NacosPropertySource}. A lookup of a single property before that loads the config
+ * on the calling thread, joining a fetch already in flight, so the result never depends on
+ * timing. The property names stay empty until the config is loaded, so enumerating the
+ * sources does not force a fetch.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class LazyNacosPropertySource extends EnumerablePropertySource<Object> {
+
+	private static final String[] EMPTY_NAMES = new String[0];
+
+	/**
+	 * 当前线程是否正在加载某个延迟配置，加载过程中对环境的查询不再触发加载
+	 */
+	private static final ThreadLocal<Boolean> RESOLVING = new ThreadLocal<>();
+
+	/**
+	 * 所在的属性源列表
+	 */
+	private final MutablePropertySources propertySources;
+
+	/**
+	 * 配置属性源加载器
+	 */
+	private final Supplier<NacosPropertySource> loader;
+
+	/**
+	 * 已加载的配置属性源
+	 */
+	private volatile NacosPropertySource delegate;
+
+	public LazyNacosPropertySource(String name, MutablePropertySources propertySources,
+			Supplier<NacosPropertySource> loader) {
+		super(name);
+		this.propertySources = propertySources;
+		this.loader = loader;
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		NacosPropertySource resolved = resolveForLookup();
+		return resolved != null ? resolved.getProperty(name) : null;
+	}
+
+	@Override
+	public boolean containsProperty(String name) {
+		NacosPropertySource resolved = resolveForLookup();
+		return resolved != null && resolved.containsProperty(name);
+	}
+
+	@Override
+	public String[] getPropertyNames() {
+		NacosPropertySource resolved = delegate;
+		return resolved != null ? resolved.getPropertyNames() : EMPTY_NAMES;
+	}
+
+	public boolean isResolved() {
+		return delegate != null;
+	}
+
+	private NacosPropertySource resolveForLookup() {
+		NacosPropertySource resolved = delegate;
+		if (resolved != null || RESOLVING.get() != null) {
+			// parsing a config may look up the environment, e.g. the active profiles;
+			// never wait for another placeholder from there
+			return resolved;
+		}
+		return resolve();
+	}
+
+	/**
+	 * 加载配置属性源，并在属性源列表中替换自身
+	 */
+	public NacosPropertySource resolve() {
+		NacosPropertySource resolved = delegate;
+		if (resolved == null) {
+			synchronized (this) {
+				resolved = delegate;
+				if (resolved == null) {
+					RESOLVING.set(Boolean.TRUE);
+					try {
+						resolved = loader.get();
+					}
+					finally {
+						RESOLVING.remove();
+					}
+					delegate = resolved;
+					// an auto-refresh listener may already have replaced the placeholder
+					if (propertySources.get(getName()) == this) {
+						propertySources.replace(getName(), resolved);
+					}
+				}
+			}
+		}
+		return resolved;
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.client.utils.LogUtils;
+import com.alibaba.nacos.spring.factory.CacheableEventPublishingNacosServiceFactory;
+import com.alibaba.nacos.spring.util.NacosUtils;
+import org.slf4j.Logger;
+
+/**
+ * 配置服务连接注册表
+ * Maps every set of config properties that points to the same server, namespace and
+ * credentials onto one canonical {@link Properties} instance. The ConfigService caches
+ * are keyed by {@link NacosUtils#identify}, so ext-config entries that only differ
+ * in group, data-id or client tuning share one ConfigService, and one set of long-poll
+ * workers, instead of creating one each. The client tuning of the first entry wins.
+ * The loader releases its references when the application context closes. Once the last
+ * reference is released, the ConfigService of the connection is shut down and dropped from
+ * the nacos-spring service cache, so a later context creates a fresh one.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigConnectionRegistry {
+
+    private static final Logger LOGGER = LogUtils.logger(NacosConfigConnectionRegistry.class);
+
+    private static final NacosConfigConnectionRegistry INSTANCE = new NacosConfigConnectionRegistry();
+
+    /**
+     * 决定连接身份的属性键
+     */
+    private static final String[] CONNECTION_KEYS = {PropertyKeyConst.SERVER_ADDR,
+            PropertyKeyConst.ENDPOINT, PropertyKeyConst.NAMESPACE, PropertyKeyConst.CONTEXT_PATH,
+            PropertyKeyConst.USERNAME, PropertyKeyConst.PASSWORD, PropertyKeyConst.ACCESS_KEY,
+            PropertyKeyConst.SECRET_KEY, PropertyKeyConst.RAM_ROLE_NAME};
+
+    /**
+     * 共享连接，键为连接身份
+     */
+    private final Map<String, Connection> connections = new LinkedHashMap<>(4);
+
+    public static NacosConfigConnectionRegistry getSingleton() {
+        return INSTANCE;
+    }
+
+    /**
+     * 获取共享连接的配置属性集，引用计数加一
+     *
+     * @param properties 配置属性集
+     * @return 同一连接身份的第一个配置属性集
+     */
+    public synchronized Properties acquire(Properties properties) {
+        final String key = connectionKey(properties);
+        Connection connection = connections.get(key);
+        if (connection == null) {
+            connection = new Connection(properties);
+            connections.put(key, connection);
+        } else if (connection.properties != properties
+                && !connection.properties.equals(properties)) {
+            LOGGER.info("config properties share the ConfigService of {}, their own client settings are ignored",
+                    connection.name);
+        }
+        connection.references++;
+        return connection.properties;
+    }
+
+    /**
+     * 记录共享连接的配置服务，最后一个引用释放时关闭
+     *
+     * @param properties    配置属性集
+     * @param configService 由共享的配置属性集创建的配置服务
+     */
+    public synchronized void attach(Properties properties, ConfigService configService) {
+        Connection connection = connections.get(connectionKey(properties));
+        if (connection != null && connection.configService == null) {
+            connection.configService = configService;
+        }
+    }
+
+    /**
+     * 释放共享连接，引用计数减一；最后一个引用释放时关闭连接的配置服务
+     *
+     * @param properties 配置属性集
+     * @return 是否为最后一个引用，此时连接从注册表中移除
+     */
+    public boolean release(Properties properties) {
+        final String key = connectionKey(properties);
+        final Connection connection;
+        synchronized (this) {
+            connection = connections.get(key);
+            if (connection == null || --connection.references > 0) {
+                return false;
+            }
+            connections.remove(key);
+        }
+        if (connection.configService != null) {
+            shutDown(connection);
+        }
+        return true;
+    }
+
+    private static void shutDown(Connection connection) {
+        // 从 nacos-spring 的服务缓存中移除，之后的应用上下文不会拿到已关闭的配置服务
+        CacheableEventPublishingNacosServiceFactory.getSingleton().getConfigServices()
+                .remove(connection.configService);
+        try {
+            connection.configService.shutDown();
+            LOGGER.info("shut down the ConfigService of {}", connection.name);
+        } catch (NacosException e) {
+            LOGGER.warn("shut down the ConfigService of {} fail", connection.name, e);
+        }
+    }
+
+    /**
+     * 各连接的引用计数
+     */
+    public synchronized Map<String, Integer> getReferenceCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>(connections.size());
+        for (Connection connection : connections.values()) {
+            counts.merge(connection.name, connection.references, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static String connectionKey(Properties properties) {
+        StringBuilder key = new StringBuilder();
+        for (String name : CONNECTION_KEYS) {
+            key.append(Objects.toString(properties.getProperty(name), "")).append(NacosUtils.SEPARATOR);
+        }
+        return key.toString();
+    }
+
+    private static final class Connection {
+        /**
+         * 共享的配置属性集
+         */
+        private final Properties properties;
+        /**
+         * 不含凭据的连接名称
+         */
+        private final String name;
+        /**
+         * 引用计数
+         */
+        private int references;
+        /**
+         * 由共享的配置属性集创建的配置服务
+         */
+        private ConfigService configService;
+
+        Connection(Properties properties) {
+            this.properties = properties;
+            String server = properties.getProperty(PropertyKeyConst.SERVER_ADDR);
+            if (server == null) {
+                server = properties.getProperty(PropertyKeyConst.ENDPOINT, "");
+            }
+            this.name = server + NacosUtils.SEPARATOR
+                    + properties.getProperty(PropertyKeyConst.NAMESPACE, "");
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.alibaba.boot.nacos.config.properties.NacosConfigProperties;
+import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.spring.util.NacosUtils;
+
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.util.StringUtils;
+
+/**
+ * 引导阶段的配置内容注册表
+ * Shares the remote config contents and the bound {@link NacosConfigProperties} between
+ * every bootstrap stage (environment post processor, log auto refresh, context
+ * initializer), so that each (server, namespace, group, dataId) is fetched from the
+ * server at most once per JVM start. The registry is cleared once the context
+ * initializer has finished, later refreshes always go to the server. A fetch whose thread
+ * was interrupted is not shared, and a caller waits for a shared fetch at most
+ * {@link #DEFAULT_WAIT_TIMEOUT} milliseconds before asking the server itself.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigContentRegistry {
+
+	/**
+	 * 默认的共享拉取最长等待时间（毫秒），为客户端读取超时的两倍
+	 */
+	public static final long DEFAULT_WAIT_TIMEOUT = 2 * NacosUtils.DEFAULT_TIMEOUT;
+
+	private static final NacosConfigContentRegistry INSTANCE = new NacosConfigContentRegistry(
+			DEFAULT_WAIT_TIMEOUT);
+
+	/**
+	 * 共享拉取的最长等待时间（毫秒）
+	 */
+	private final long waitTimeout;
+
+	/**
+	 * 配置内容缓存，键为 (server, namespace, group, dataId)
+	 */
+	private final ConcurrentMap<String, FutureTask<String>> contents = new ConcurrentHashMap<>(16);
+
+	/**
+	 * 已绑定的配置属性集，按环境组件身份缓存
+	 */
+	private final Map<ConfigurableEnvironment, NacosConfigProperties> configProperties = Collections
+			.synchronizedMap(new WeakHashMap<>(4));
+
+	/**
+	 * 远程拉取次数
+	 */
+	private final AtomicLong fetchCount = new AtomicLong();
+
+	/**
+	 * 被避免的远程拉取次数
+	 */
+	private final AtomicLong avoidedFetchCount = new AtomicLong();
+
+	public NacosConfigContentRegistry(long waitTimeout) {
+		this.waitTimeout = waitTimeout;
+	}
+
+	public static NacosConfigContentRegistry getSingleton() {
+		return INSTANCE;
+	}
+
+	/**
+	 * 获取配置内容，同一个键只会请求一次服务端
+	 *
+	 * @param configService 配置服务
+	 * @param properties    配置属性集
+	 * @param dataId        数据身份
+	 * @param groupId       分组身份
+	 * @return 配置内容，不存在时为 {@code null}
+	 */
+	public String getContent(final ConfigService configService, Properties properties,
+			final String dataId, final String groupId) {
+		final String key = buildKey(properties, dataId, groupId);
+		FutureTask<String> task = contents.get(key);
+		if (task == null) {
+			FutureTask<String> newTask = new FutureTask<>(() -> {
+				fetchCount.incrementAndGet();
+				return NacosUtils.getContent(configService, dataId, groupId);
+			});
+			task = contents.putIfAbsent(key, newTask);
+			if (task == null) {
+				task = newTask;
+				task.run();
+				// 拉取线程被中断时客户端会吞掉异常并返回 null，该结果不可共享
+				if (Thread.currentThread().isInterrupted()) {
+					contents.remove(key, task);
+				}
+			}
+			else {
+				avoidedFetchCount.incrementAndGet();
+			}
+		}
+		else {
+			avoidedFetchCount.incrementAndGet();
+		}
+		try {
+			return task.get(waitTimeout, TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException | CancellationException e) {
+			// 共享的拉取迟迟未完成或已取消，不再等待，直接请求服务端
+			contents.remove(key, task);
+			fetchCount.incrementAndGet();
+			return NacosUtils.getContent(configService, dataId, groupId);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while loading config from nacos, data-id : " + dataId, e);
+		}
+		catch (ExecutionException e) {
+			contents.remove(key, task);
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Failed to load config from nacos, data-id : " + dataId, e.getCause());
+		}
+	}
+
+	/**
+	 * 获取环境组件对应的配置属性集，同一个环境组件只绑定一次
+	 */
+	NacosConfigProperties getConfigProperties(ConfigurableEnvironment environment,
+			Supplier<NacosConfigProperties> binder) {
+		synchronized (configProperties) {
+			NacosConfigProperties properties = configProperties.get(environment);
+			if (properties == null) {
+				properties = binder.get();
+				configProperties.put(environment, properties);
+			}
+			return properties;
+		}
+	}
+
+	/**
+	 * 引导结束，清空缓存的配置内容与配置属性集，计数器保留
+	 */
+	public void clear() {
+		contents.clear();
+		configProperties.clear();
+	}
+
+	public long getFetchCount() {
+		return fetchCount.get();
+	}
+
+	public long getAvoidedFetchCount() {
+		return avoidedFetchCount.get();
+	}
+
+	private static String buildKey(Properties properties, String dataId, String groupId) {
+		String server = properties.getProperty(PropertyKeyConst.SERVER_ADDR);
+		if (!StringUtils.hasText(server)) {
+			server = properties.getProperty(PropertyKeyConst.ENDPOINT, "");
+		}
+		String namespace = properties.getProperty(PropertyKeyConst.NAMESPACE, "");
+		return server + NacosUtils.SEPARATOR + namespace + NacosUtils.SEPARATOR + groupId
+				+ NacosUtils.SEPARATOR + dataId;
+	}
+}
@@ -16,26 +16,45 @@
  */
 package com.alibaba.boot.nacos.config.util;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import com.alibaba.boot.nacos.config.properties.NacosConfigProperties;
+import com.alibaba.boot.nacos.config.event.NacosConfigDiffEvent;
+import com.alibaba.boot.nacos.config.support.MultiProfilesYamlConfigParseSupport;
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.config.ConfigType;
+import com.alibaba.nacos.api.config.listener.AbstractListener;
+import com.alibaba.nacos.api.config.listener.Listener;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.spring.context.event.config.EventPublishingConfigService;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigReceivedEvent;
 import com.alibaba.nacos.spring.core.env.NacosPropertySource;
-import com.alibaba.nacos.spring.core.env.NacosPropertySourcePostProcessor;
+import com.alibaba.nacos.spring.factory.CacheableEventPublishingNacosServiceFactory;
 import com.alibaba.nacos.spring.util.NacosUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.StringUtils;
 
 import static com.alibaba.nacos.spring.util.NacosUtils.buildDefaultPropertySourceName;
@@ -48,6 +67,8 @@ import static com.alibaba.nacos.spring.util.NacosUtils.buildDefaultPropertySourc
  */
 public class NacosConfigLoader {
 
+    private static final AtomicInteger LAZY_THREAD_INDEX = new AtomicInteger();
+
     private final Logger logger = LoggerFactory.getLogger(NacosConfigLoader.class);
 
     /**
@@ -72,6 +93,22 @@ public class NacosConfigLoader {
      * 延迟服务的配置属性源列表
      */
     private final List<DeferNacosPropertySource> nacosPropertySources = new LinkedList<>();
+    /**
+     * 配置属性源刷新器
+     */
+    private final NacosPropertySourceRefresher refresher;
+    /**
+     * 已获取共享连接的配置属性集，应用上下文关闭时释放
+     */
+    private final List<Properties> acquiredProperties = new ArrayList<>(4);
+    /**
+     * 来自本地快照或已降级的配置的校验器，应用上下文刷新后开始校验
+     */
+    private final NacosConfigRevalidator revalidator;
+    /**
+     * 应用启动步骤记录器
+     */
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
 
     public NacosConfigLoader(
             NacosConfigProperties nacosConfigProperties,
@@ -80,6 +117,8 @@ public class NacosConfigLoader {
         this.nacosConfigProperties = nacosConfigProperties;
         this.environment = environment;
         this.builder = builder;
+        this.refresher = new NacosPropertySourceRefresher(environment);
+        this.revalidator = new NacosConfigRevalidator(refresher);
         globalProperties = this.buildGlobalNacosProperties();
     }
 
@@ -91,26 +130,55 @@ public class NacosConfigLoader {
     public void loadConfig() {
         // 应用的可变的配置属性源列表
         MutablePropertySources mutablePropertySources = environment.getPropertySources();
-        // 全局的配置属性源列表
-        List<NacosPropertySource> sources = reqGlobalNacosConfig(globalProperties,
+        // 按声明顺序收集全局与扩展配置的请求
+        List<ConfigRequest> requests = reqGlobalNacosConfig(globalProperties,
                 nacosConfigProperties.getType());
         for (NacosConfigProperties.Config config : nacosConfigProperties.getExtConfig()) {
             // 请求子的配置属性源列表
-            List<NacosPropertySource> elements = reqSubNacosConfig(config,
-                    globalProperties, config.getType());
-            sources.addAll(elements);
+            requests.addAll(reqSubNacosConfig(config, globalProperties, config.getType()));
+        }
+        // 拉取配置内容，延迟加载的配置除外
+        List<ConfigRequest> eagerRequests = new ArrayList<>(requests.size());
+        for (ConfigRequest request : requests) {
+            if (!request.lazy) {
+                eagerRequests.add(request);
+            }
+        }
+        fetchNacosConfig(eagerRequests);
+        // 全局的配置属性源列表
+        List<PropertySource<?>> sources = new ArrayList<>(requests.size());
+        // 延迟加载的配置属性源列表
+        List<LazyNacosPropertySource> lazySources = new ArrayList<>(0);
+        for (ConfigRequest request : requests) {
+            if (request.lazy) {
+                LazyNacosPropertySource lazySource = buildLazyNacosPropertySource(request);
+                sources.add(lazySource);
+                lazySources.add(lazySource);
+                continue;
+            }
+            NacosPropertySource propertySource = buildNacosPropertySource(request);
+            sources.add(propertySource);
+            if (request.fromSnapshot || request.degraded) {
+                // 来自本地快照或已降级的配置在应用上下文刷新后与服务端重新校验
+                revalidator.add(propertySource, request.configService, request.properties,
+                        request.content, request.degraded);
+            }
+        }
+        if (nacosConfigProperties.isMergePropertySources()) {
+            sources = mergePropertySources(sources);
         }
         if (nacosConfigProperties.isRemoteFirst()) {
             // 远程配置优先
-            for (ListIterator<NacosPropertySource> itr = sources.listIterator(sources.size()); itr.hasPrevious(); ) {
+            for (ListIterator<PropertySource<?>> itr = sources.listIterator(sources.size()); itr.hasPrevious(); ) {
                 mutablePropertySources.addAfter(
                         StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, itr.previous());
             }
         } else {
-            for (NacosPropertySource propertySource : sources) {
+            for (PropertySource<?> propertySource : sources) {
                 mutablePropertySources.addLast(propertySource);
             }
         }
+        resolveLazily(lazySources);
     }
 
     // 配置属性集
@@ -154,7 +222,7 @@ public class NacosConfigLoader {
 
     // 配置
 
-    private List<NacosPropertySource> reqGlobalNacosConfig(
+    private List<ConfigRequest> reqGlobalNacosConfig(
             Properties globalProperties,
             ConfigType type) {
         // 数据身份列表
@@ -176,11 +244,11 @@ public class NacosConfigLoader {
                 .resolvePlaceholders(nacosConfigProperties.getGroup());
         // 配置自动刷新
         final boolean isAutoRefresh = nacosConfigProperties.isAutoRefresh();
-        return new ArrayList<>(Arrays.asList(this.reqNacosConfig(globalProperties,
-                dataIds.toArray(new String[0]), groupName, type, isAutoRefresh)));
+        return this.reqNacosConfig(globalProperties,
+                dataIds.toArray(new String[0]), groupName, type, isAutoRefresh, false);
     }
 
-    private List<NacosPropertySource> reqSubNacosConfig(
+    private List<ConfigRequest> reqSubNacosConfig(
             NacosConfigProperties.Config config, Properties globalProperties,
             ConfigType type) {
         Properties subConfigProperties = buildSubNacosProperties(globalProperties,
@@ -195,8 +263,8 @@ public class NacosConfigLoader {
         // 分组名称
         final String groupName = environment.resolvePlaceholders(config.getGroup());
         final boolean isAutoRefresh = config.isAutoRefresh();
-        return new ArrayList<>(Arrays.asList(this.reqNacosConfig(subConfigProperties,
-                dataIds.toArray(new String[0]), groupName, type, isAutoRefresh)));
+        return this.reqNacosConfig(subConfigProperties,
+                dataIds.toArray(new String[0]), groupName, type, isAutoRefresh, config.isLazy());
     }
 
     /**
@@ -207,42 +275,263 @@ public class NacosConfigLoader {
      * @param groupId          分组身份
      * @param type             配置类型
      * @param isAutoRefresh    配置自动刷新
+     * @param lazy             延迟加载
      */
-    private NacosPropertySource[] reqNacosConfig(
+    private List<ConfigRequest> reqNacosConfig(
             Properties configProperties,
-            String[] dataIds, String groupId, ConfigType type, boolean isAutoRefresh) {
-        // 配置属性源列表
-        final NacosPropertySource[] propertySources = new NacosPropertySource[dataIds.length];
-        for (int i = 0; i < dataIds.length; i++) {
-            if (!StringUtils.hasLength(dataIds[i])) {
+            String[] dataIds, String groupId, ConfigType type, boolean isAutoRefresh,
+            boolean lazy) {
+        // 配置请求列表
+        final List<ConfigRequest> requests = new ArrayList<>(dataIds.length);
+        // 同一组请求共享同一个配置服务，在当前线程中创建，避免构建者被并发调用
+        ConfigService configService = null;
+        // 同一服务端、命名空间与凭据的配置共享同一份配置属性集，从而共享同一个配置服务
+        Properties sharedProperties = null;
+        // 快照优先
+        final boolean snapshotFirst = nacosConfigProperties.getBootstrap().isSnapshotEnable();
+        // 设置了引导超时时间时也保存快照，超时后用于降级
+        final boolean keepSnapshot = snapshotFirst
+                || nacosConfigProperties.getBootstrap().getTimeout() > 0;
+        for (String id : dataIds) {
+            if (!StringUtils.hasLength(id)) {
                 continue;
             }
+            if (configService == null) {
+                sharedProperties = NacosConfigConnectionRegistry.getSingleton()
+                        .acquire(configProperties);
+                synchronized (acquiredProperties) {
+                    acquiredProperties.add(configProperties);
+                }
+                configService = builder.apply(sharedProperties);
+                NacosConfigConnectionRegistry.getSingleton().attach(sharedProperties, configService);
+            }
             // Remove excess Spaces
             // 数据身份
-            final String dataId = environment.resolvePlaceholders(dataIds[i].trim());
-            // 通过数据身份和分组身份获取配置内容
-            final String config = NacosUtils.getContent(builder.apply(configProperties),
-                    dataId, groupId);
-            // 配置属性源
-            final NacosPropertySource nacosPropertySource = new NacosPropertySource(
-                    dataId, groupId,
-                    NacosUtils.buildDefaultPropertySourceName(dataId, groupId, configProperties),
-                    config, type.getType());
-            // 数据身份
-            nacosPropertySource.setDataId(dataId);
-            // 分组身份
-            nacosPropertySource.setGroupId(groupId);
-            nacosPropertySource.setType(type.getType());
-            nacosPropertySource.setAutoRefreshed(isAutoRefresh);
-            logger.info("load config from nacos, data-id is : {}, group is : {}",
-                    nacosPropertySource.getDataId(), nacosPropertySource.getGroupId());
-            propertySources[i] = nacosPropertySource;
-            // 延迟服务的配置属性源
-            DeferNacosPropertySource defer = new DeferNacosPropertySource(
-                    nacosPropertySource, configProperties, environment);
-            nacosPropertySources.add(defer);
+            final String dataId = environment.resolvePlaceholders(id.trim());
+            requests.add(new ConfigRequest(configService, sharedProperties, dataId,
+                    groupId, type, isAutoRefresh, snapshotFirst, keepSnapshot, lazy));
+        }
+        return requests;
+    }
+
+    /**
+     * 拉取配置内容，并发度由 {@link NacosConfigProperties.Bootstrap#getConcurrency()} 控制，
+     * 整体耗时不超过 {@link NacosConfigProperties.Bootstrap#getTimeout()}
+     *
+     * @param requests 配置请求列表
+     */
+    private void fetchNacosConfig(List<ConfigRequest> requests) {
+        final NacosConfigProperties.Bootstrap bootstrap = nacosConfigProperties.getBootstrap();
+        // 需要请求服务端的配置
+        final List<ConfigRequest> remoteRequests = new ArrayList<>(requests.size());
+        for (ConfigRequest request : requests) {
+            if (!request.useSnapshot()) {
+                remoteRequests.add(request);
+            }
+        }
+        final long timeout = bootstrap.getTimeout();
+        final int concurrency = Math.min(bootstrap.getConcurrency(), remoteRequests.size());
+        if (concurrency <= 1 && timeout <= 0) {
+            for (ConfigRequest request : remoteRequests) {
+                StartupStep step = applicationStartup.start("nacos.config.bootstrap.fetch");
+                tag(step, request);
+                request.content = request.fetch();
+                tagBytes(step, request.content).end();
+            }
+            return;
+        }
+        if (remoteRequests.isEmpty()) {
+            return;
+        }
+        // Startup steps are tracked per application rather than per thread, so the
+        // concurrent fetches are recorded as a single step
+        final StartupStep step = applicationStartup.start("nacos.config.bootstrap.fetch-all")
+                .tag("count", String.valueOf(remoteRequests.size()))
+                .tag("concurrency", String.valueOf(Math.max(concurrency, 1)))
+                .tag("timeout", String.valueOf(timeout));
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        final AtomicInteger threadIndex = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(concurrency, 1),
+                runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "nacos-config-bootstrap-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        final List<Future<String>> futures = new ArrayList<>(remoteRequests.size());
+        try {
+            for (ConfigRequest request : remoteRequests) {
+                futures.add(executor.submit(request::fetch));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                final Future<String> future = futures.get(i);
+                final ConfigRequest request = remoteRequests.get(i);
+                if (timeout <= 0) {
+                    request.content = future.get();
+                    continue;
+                }
+                try {
+                    request.content = future.get(Math.max(deadline - System.nanoTime(), 0L),
+                            TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // 引导超时，降级为本地快照或空配置。进行中的拉取不中断，
+                    // 其结果在注册表中共享给后续的调用者（如日志配置）
+                    future.cancel(false);
+                    request.degrade();
+                    logger.warn("load config from nacos exceeded the bootstrap timeout of {} ms, "
+                                    + "degraded to {}, data-id is : {}, group is : {}", timeout,
+                            request.fromSnapshot ? "local snapshot" : "empty config",
+                            request.dataId, request.groupId);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading config from nacos", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to load config from nacos", e.getCause());
+        } finally {
+            // 未开始的拉取不再执行，进行中的拉取在守护线程上完成
+            for (Future<String> future : futures) {
+                future.cancel(false);
+            }
+            executor.shutdown();
+            step.end();
         }
-        return propertySources;
+    }
+
+    /**
+     * 构建配置属性源
+     *
+     * @param request 已拉取内容的配置请求
+     */
+    private NacosPropertySource buildNacosPropertySource(ConfigRequest request) {
+        final String dataId = request.dataId;
+        final String groupId = request.groupId;
+        // 解析配置内容
+        final StartupStep step = applicationStartup.start("nacos.config.bootstrap.parse");
+        tagBytes(tag(step, request), request.content);
+        // 配置属性源
+        // 按本环境组件的 profile 解析多文档的 YAML
+        final NacosPropertySource nacosPropertySource = MultiProfilesYamlConfigParseSupport.parseWith(
+                environment, () -> new NacosPropertySource(dataId, groupId,
+                        NacosUtils.buildDefaultPropertySourceName(dataId, groupId, request.properties),
+                        request.content, request.type.getType()));
+        step.end();
+        // 数据身份
+        nacosPropertySource.setDataId(dataId);
+        // 分组身份
+        nacosPropertySource.setGroupId(groupId);
+        nacosPropertySource.setType(request.type.getType());
+        nacosPropertySource.setAutoRefreshed(request.autoRefresh);
+        logger.info("load config from nacos, data-id is : {}, group is : {}",
+                nacosPropertySource.getDataId(), nacosPropertySource.getGroupId());
+        // 延迟服务的配置属性源
+        DeferNacosPropertySource defer = new DeferNacosPropertySource(
+                nacosPropertySource, request.properties, environment);
+        nacosPropertySources.add(defer);
+        return nacosPropertySource;
+    }
+
+    /**
+     * 将非延迟加载的配置属性源合并为一个，放在第一个被合并的配置属性源的位置，延迟加载的占位配置属性源保持不变
+     *
+     * @param sources 按优先级排列的配置属性源列表
+     * @return 合并后的配置属性源列表
+     */
+    private List<PropertySource<?>> mergePropertySources(List<PropertySource<?>> sources) {
+        List<NacosPropertySource> members = new ArrayList<>(sources.size());
+        for (PropertySource<?> propertySource : sources) {
+            if (propertySource instanceof NacosPropertySource) {
+                members.add((NacosPropertySource) propertySource);
+            }
+        }
+        if (members.isEmpty()) {
+            return sources;
+        }
+        List<PropertySource<?>> merged = new ArrayList<>(sources.size() - members.size() + 1);
+        for (PropertySource<?> propertySource : sources) {
+            if (!(propertySource instanceof NacosPropertySource)) {
+                merged.add(propertySource);
+            } else if (propertySource == members.get(0)) {
+                merged.add(new NacosMergedPropertySource(members));
+            }
+        }
+        logger.info("merged {} nacos config(s) into property source : {}", members.size(),
+                NacosMergedPropertySource.NAME);
+        return merged;
+    }
+
+    /**
+     * 构建延迟加载的占位配置属性源，自动刷新的监视器照常注册
+     *
+     * @param request 未拉取内容的配置请求
+     */
+    private LazyNacosPropertySource buildLazyNacosPropertySource(final ConfigRequest request) {
+        final String name = NacosUtils.buildDefaultPropertySourceName(request.dataId,
+                request.groupId, request.properties);
+        // 不含内容的配置属性源，只用于注册自动刷新的监视器
+        final NacosPropertySource listenerSource = newNacosPropertySource(request, name, null);
+        nacosPropertySources.add(new DeferNacosPropertySource(
+                listenerSource, request.properties, environment));
+        logger.info("register lazy config from nacos, data-id is : {}, group is : {}",
+                request.dataId, request.groupId);
+        return new LazyNacosPropertySource(name, environment.getPropertySources(), () -> {
+            // 延迟加载发生在引导结束之后，直接请求服务端
+            String content = NacosUtils.getContent(request.configService, request.dataId,
+                    request.groupId);
+            logger.info("load lazy config from nacos, data-id is : {}, group is : {}",
+                    request.dataId, request.groupId);
+            return newNacosPropertySource(request, name, content);
+        });
+    }
+
+    private NacosPropertySource newNacosPropertySource(ConfigRequest request, String name,
+                                                       String content) {
+        NacosPropertySource nacosPropertySource = MultiProfilesYamlConfigParseSupport.parseWith(
+                environment, () -> new NacosPropertySource(request.dataId, request.groupId, name,
+                        content, request.type.getType()));
+        nacosPropertySource.setDataId(request.dataId);
+        nacosPropertySource.setGroupId(request.groupId);
+        nacosPropertySource.setType(request.type.getType());
+        nacosPropertySource.setAutoRefreshed(request.autoRefresh);
+        return nacosPropertySource;
+    }
+
+    /**
+     * 在后台线程中预先加载延迟配置，加载完成前查询属性的线程会等待同一次加载
+     *
+     * @param lazySources 延迟加载的配置属性源列表
+     */
+    private void resolveLazily(final List<LazyNacosPropertySource> lazySources) {
+        if (lazySources.isEmpty()) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            for (LazyNacosPropertySource lazySource : lazySources) {
+                try {
+                    lazySource.resolve();
+                } catch (RuntimeException e) {
+                    logger.warn("load lazy config fail, property source : {}",
+                            lazySource.getName(), e);
+                }
+            }
+        }, "nacos-config-lazy-" + LAZY_THREAD_INDEX.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static StartupStep tag(StartupStep step, ConfigRequest request) {
+        return step.tag("dataId", request.dataId)
+                .tag("group", request.groupId)
+                .tag("type", request.type != null ? request.type.getType() : "");
+    }
+
+    private static StartupStep tagBytes(StartupStep step, String content) {
+        return step.tag("bytes", () -> String.valueOf(
+                content != null ? content.getBytes(StandardCharsets.UTF_8).length : 0));
     }
 
     // 增加自动刷新的监视器
@@ -255,10 +544,76 @@ public class NacosConfigLoader {
             final List<DeferNacosPropertySource> deferNacosPropertySources) {
         for (DeferNacosPropertySource deferNacosPropertySource : deferNacosPropertySources) {
             // 增加自动刷新的监视器
-            NacosPropertySourcePostProcessor.addListenerIfAutoRefreshed(
-                    deferNacosPropertySource.getNacosPropertySource(),
-                    deferNacosPropertySource.getProperties(),
-                    deferNacosPropertySource.getEnvironment());
+            addListenerIfAutoRefreshed(deferNacosPropertySource);
+        }
+    }
+
+    private void addListenerIfAutoRefreshed(DeferNacosPropertySource deferNacosPropertySource) {
+        final NacosPropertySource nacosPropertySource = deferNacosPropertySource.getNacosPropertySource();
+        if (!nacosPropertySource.isAutoRefreshed()) {
+            return;
+        }
+        final String dataId = nacosPropertySource.getDataId();
+        final String groupId = nacosPropertySource.getGroupId();
+        final String type = nacosPropertySource.getType();
+        final NacosPropertySourceRefresher propertySourceRefresher =
+                deferNacosPropertySource.getEnvironment() == environment
+                        ? refresher : new NacosPropertySourceRefresher(deferNacosPropertySource.getEnvironment());
+        try {
+            // 与 NacosPropertySourcePostProcessor 一样使用事件发布的配置服务，@NacosValue 等照常收到配置变更事件
+            final ConfigService configService = CacheableEventPublishingNacosServiceFactory.getSingleton()
+                    .createConfigService(deferNacosPropertySource.getProperties());
+            final NacosConfigProperties.Refresh refreshProperties = nacosConfigProperties.getRefresh();
+            final boolean coalesce = refreshProperties.getQuietWindow() > 0;
+            final Listener listener = new AbstractListener() {
+                @Override
+                public void receiveConfigInfo(String config) {
+                    if (!coalesce) {
+                        propertySourceRefresher.refresh(nacosPropertySource, configService, config);
+                        return;
+                    }
+                    // 合并突发的配置变更，静默窗口后只刷新最新的内容
+                    NacosConfigRefreshCoalescer.getSingleton().submit(
+                            dataId + '+' + groupId + '+' + nacosPropertySource.getName(), config,
+                            refreshProperties.getQuietWindow(), refreshProperties.getMaxDelay(),
+                            content -> {
+                                if (propertySourceRefresher.refresh(nacosPropertySource, configService, content)) {
+                                    // 原始通知不发布配置接收事件，刷新后只发布一次使 @NacosValue 取到新值
+                                    propertySourceRefresher.publishEvent(new NacosConfigReceivedEvent(
+                                            configService, dataId, groupId, content, type));
+                                }
+                            });
+                }
+            };
+            if (configService instanceof EventPublishingConfigService && !coalesce) {
+                ((EventPublishingConfigService) configService).addListener(dataId, groupId, type, listener);
+            } else {
+                // 合并刷新时不使用发布配置接收事件的监视器包装，突发的原始通知不会逐个到达 @NacosValue
+                configService.addListener(dataId, groupId, listener);
+            }
+        } catch (NacosException e) {
+            throw new RuntimeException("ConfigService can't add Listener with properties : "
+                    + deferNacosPropertySource.getProperties(), e);
+        }
+    }
+
+    /**
+     * 在后台开始重新校验来自本地快照或已降级的配置，应用上下文刷新后调用，校验触发的事件才能送达监听器
+     */
+    public void startRevalidation() {
+        revalidator.start();
+    }
+
+    /**
+     * 释放加载配置时获取的共享连接，应用上下文关闭时调用；最后一个引用释放时关闭连接的配置服务
+     */
+    public void releaseConnections() {
+        revalidator.stop();
+        synchronized (acquiredProperties) {
+            for (Properties properties : acquiredProperties) {
+                NacosConfigConnectionRegistry.getSingleton().release(properties);
+            }
+            acquiredProperties.clear();
         }
     }
 
@@ -273,6 +628,140 @@ public class NacosConfigLoader {
         return globalProperties;
     }
 
+    public NacosConfigRevalidator getRevalidator() {
+        return revalidator;
+    }
+
+    ConfigurableEnvironment getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * 设置应用事件发布者，配置变更后发布 {@link NacosConfigDiffEvent}
+     */
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        refresher.setApplicationEventPublisher(applicationEventPublisher);
+    }
+
+    public ApplicationStartup getApplicationStartup() {
+        return applicationStartup;
+    }
+
+    /**
+     * 设置应用启动步骤记录器，用于在 {@code /actuator/startup} 中观察引导阶段的耗时
+     */
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * 单个数据身份的配置请求，拉取完成后持有配置内容
+     */
+    private static final class ConfigRequest {
+        /**
+         * 配置服务
+         */
+        private final ConfigService configService;
+        /**
+         * 配置属性集
+         */
+        private final Properties properties;
+        /**
+         * 数据身份
+         */
+        private final String dataId;
+        /**
+         * 分组身份
+         */
+        private final String groupId;
+        /**
+         * 配置类型
+         */
+        private final ConfigType type;
+        /**
+         * 配置自动刷新
+         */
+        private final boolean autoRefresh;
+        /**
+         * 优先使用本地快照
+         */
+        private final boolean snapshotFirst;
+        /**
+         * 保存本地快照
+         */
+        private final boolean keepSnapshot;
+        /**
+         * 延迟加载
+         */
+        private final boolean lazy;
+        /**
+         * 配置内容
+         */
+        private String content;
+        /**
+         * 配置内容来自本地快照
+         */
+        private boolean fromSnapshot;
+        /**
+         * 引导超时后已降级
+         */
+        private boolean degraded;
+
+        ConfigRequest(ConfigService configService, Properties properties, String dataId,
+                      String groupId, ConfigType type, boolean autoRefresh, boolean snapshotFirst,
+                      boolean keepSnapshot, boolean lazy) {
+            this.configService = configService;
+            this.properties = properties;
+            this.dataId = dataId;
+            this.groupId = groupId;
+            this.type = type;
+            this.autoRefresh = autoRefresh;
+            this.snapshotFirst = snapshotFirst;
+            this.keepSnapshot = keepSnapshot;
+            this.lazy = lazy;
+        }
+
+        /**
+         * 快照优先时使用本地快照作为配置内容
+         *
+         * @return 是否已使用本地快照
+         */
+        boolean useSnapshot() {
+            if (!snapshotFirst) {
+                return false;
+            }
+            String snapshot = NacosConfigSnapshot.read(properties, dataId, groupId);
+            if (snapshot == null) {
+                return false;
+            }
+            content = snapshot;
+            fromSnapshot = true;
+            return true;
+        }
+
+        /**
+         * 从服务端拉取配置内容
+         */
+        String fetch() {
+            // 通过数据身份和分组身份获取配置内容，引导阶段的各个环节共享同一份内容
+            String config = NacosConfigContentRegistry.getSingleton().getContent(configService,
+                    properties, dataId, groupId);
+            if (keepSnapshot && config != null) {
+                NacosConfigSnapshot.write(properties, dataId, groupId, config);
+            }
+            return config;
+        }
+
+        /**
+         * 降级为本地快照，没有快照时为空配置
+         */
+        void degrade() {
+            content = NacosConfigSnapshot.read(properties, dataId, groupId);
+            fromSnapshot = content != null;
+            degraded = true;
+        }
+    }
+
     /**
      * 延迟Nacos配置数据源对象，用于日志级别的加载时间、缓存配置，等待Spring Context完成后创建发布
      */
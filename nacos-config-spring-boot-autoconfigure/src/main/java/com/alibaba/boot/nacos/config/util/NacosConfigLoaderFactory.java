@@ -35,14 +35,17 @@ public class NacosConfigLoaderFactory {
      */
     private static volatile NacosConfigLoader nacosConfigLoader;
 
+    /**
+     * 获取环境组件对应的配置加载器，同一个环境组件的引导阶段共享同一个加载器
+     */
     public static NacosConfigLoader getSingleton(
             NacosConfigProperties nacosConfigProperties,
             ConfigurableEnvironment environment,
             Function<Properties, ConfigService> builder) {
         // 双重null检查
-        if (nacosConfigLoader == null) {
+        if (!isCreatedFor(environment)) {
             synchronized (NacosConfigLoaderFactory.class) {
-                if (nacosConfigLoader == null) {
+                if (!isCreatedFor(environment)) {
                     // 创建配置加载器
                     nacosConfigLoader = new NacosConfigLoader(
                             nacosConfigProperties, environment, builder);
@@ -51,4 +54,9 @@ public class NacosConfigLoaderFactory {
         }
         return nacosConfigLoader;
     }
+
+    private static boolean isCreatedFor(ConfigurableEnvironment environment) {
+        NacosConfigLoader loader = nacosConfigLoader;
+        return loader != null && loader.getEnvironment() == environment;
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * 配置解析缓存
+ * Maps (config type, MD5 of the content) to the parsed properties, so that a content
+ * referenced from several sites, re-notified unchanged, or loaded by several bootstrap
+ * stages is parsed once. The cache keeps a private copy, every caller gets a mutable map of
+ * its own, so a property source built from the result can never change what another one
+ * sees. Entries are evicted least recently used first, once
+ * either the number of entries or the total length of the cached contents exceeds its
+ * limit.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigParseCache {
+
+	/**
+	 * 默认的最大缓存条目数
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+	/**
+	 * 默认的最大缓存权重，即配置内容的总字符数
+	 */
+	public static final long DEFAULT_MAXIMUM_WEIGHT = 16L * 1024 * 1024;
+
+	private static final NacosConfigParseCache INSTANCE = new NacosConfigParseCache(
+			DEFAULT_MAXIMUM_SIZE, DEFAULT_MAXIMUM_WEIGHT);
+
+	/**
+	 * 最大缓存条目数
+	 */
+	private final int maximumSize;
+
+	/**
+	 * 最大缓存权重
+	 */
+	private final long maximumWeight;
+
+	/**
+	 * 解析结果，按访问顺序排列
+	 */
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * 当前缓存权重
+	 */
+	private long weight;
+
+	/**
+	 * 命中次数
+	 */
+	private final AtomicLong hitCount = new AtomicLong();
+
+	/**
+	 * 未命中次数
+	 */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * 淘汰次数
+	 */
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	public NacosConfigParseCache(int maximumSize, long maximumWeight) {
+		this.maximumSize = maximumSize;
+		this.maximumWeight = maximumWeight;
+	}
+
+	public static NacosConfigParseCache getSingleton() {
+		return INSTANCE;
+	}
+
+	/**
+	 * 获取解析结果，未缓存时解析并缓存
+	 *
+	 * @param type    配置类型，解析结果依赖其它条件（如 profile）时应包含这些条件
+	 * @param content 配置内容
+	 * @param parser  解析配置内容的操作
+	 * @return 调用方独有的解析结果
+	 */
+	public Map<String, Object> get(String type, String content,
+			Function<String, Map<String, Object>> parser) {
+		if (content == null) {
+			return parser.apply(null);
+		}
+		final String key = type + ':'
+				+ DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+		Entry entry;
+		synchronized (this) {
+			entry = entries.get(key);
+		}
+		// 摘要相同时再比较内容，排除碰撞
+		if (entry != null && entry.content.equals(content)) {
+			hitCount.incrementAndGet();
+			return new LinkedHashMap<>(entry.properties);
+		}
+		missCount.incrementAndGet();
+		// 解析在锁外进行，并发的相同解析只保留后完成的结果
+		Map<String, Object> parsed = parser.apply(content);
+		if (parsed == null || content.length() > maximumWeight) {
+			return parsed;
+		}
+		Map<String, Object> properties = Collections.unmodifiableMap(new LinkedHashMap<>(parsed));
+		synchronized (this) {
+			Entry previous = entries.put(key, new Entry(content, properties));
+			if (previous != null) {
+				weight -= previous.content.length();
+			}
+			weight += content.length();
+			evict();
+		}
+		return parsed;
+	}
+
+	private void evict() {
+		Iterator<Entry> iterator = entries.values().iterator();
+		while ((entries.size() > maximumSize || weight > maximumWeight) && iterator.hasNext()) {
+			Entry eldest = iterator.next();
+			iterator.remove();
+			weight -= eldest.content.length();
+			evictionCount.incrementAndGet();
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		weight = 0;
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	public synchronized int getSize() {
+		return entries.size();
+	}
+
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * 缓存条目
+	 */
+	private static final class Entry {
+		/**
+		 * 配置内容
+		 */
+		private final String content;
+		/**
+		 * 缓存私有的解析结果
+		 */
+		private final Map<String, Object> properties;
+
+		Entry(String content, Map<String, Object> properties) {
+			this.content = content;
+			this.properties = properties;
+		}
+	}
+}
@@ -17,6 +17,7 @@
 package com.alibaba.boot.nacos.config.util;
 
 import com.alibaba.boot.nacos.config.NacosConfigConstants;
+import com.alibaba.boot.nacos.config.binder.NacosConfigurationPropertySource;
 import com.alibaba.boot.nacos.config.properties.NacosConfigProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,11 +38,21 @@ public class NacosConfigPropertiesUtils {
 	private static final Logger logger = LoggerFactory
 			.getLogger(NacosConfigPropertiesUtils.class);
 
+	/**
+	 * 构建配置属性集，引导阶段同一个环境组件只绑定一次
+	 */
 	public static NacosConfigProperties buildNacosConfigProperties(
 			ConfigurableEnvironment environment) {
+		return NacosConfigContentRegistry.getSingleton().getConfigProperties(environment,
+				() -> bindNacosConfigProperties(environment));
+	}
+
+	private static NacosConfigProperties bindNacosConfigProperties(
+			ConfigurableEnvironment environment) {
 		// 配置属性集
 		NacosConfigProperties nacosConfigProperties = new NacosConfigProperties();
-		Binder binder = Binder.get(environment);
+		// 配置属性源使用预先计算名称映射的适配器
+		Binder binder = NacosConfigurationPropertySource.getBinder(environment);
 		ResolvableType type = ResolvableType.forClass(NacosConfigProperties.class);
 		Bindable<?> target = Bindable.of(type).withExistingValue(nacosConfigProperties);
 		binder.bind(NacosConfigConstants.PREFIX, target);
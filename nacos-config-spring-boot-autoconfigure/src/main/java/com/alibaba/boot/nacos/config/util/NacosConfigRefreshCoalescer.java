@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.alibaba.nacos.client.utils.LogUtils;
+import org.slf4j.Logger;
+
+/**
+ * 配置刷新合并器
+ * Coalesces bursts of changes to one data-id: every change restarts a quiet window,
+ * and once the window passes without a new change, or the maximum delay since the first
+ * change of the burst is reached, the latest content is refreshed once. Superseded
+ * contents are counted as merged, repeated deliveries of the content just applied as
+ * dropped.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigRefreshCoalescer {
+
+    private static final Logger LOGGER = LogUtils.logger(NacosConfigRefreshCoalescer.class);
+
+    private static final NacosConfigRefreshCoalescer INSTANCE = new NacosConfigRefreshCoalescer();
+
+    /**
+     * 每个数据身份的待刷新状态
+     */
+    private final ConcurrentMap<String, Pending> pendings = new ConcurrentHashMap<>(16);
+
+    /**
+     * 收到的变更次数
+     */
+    private final AtomicLong receivedCount = new AtomicLong();
+
+    /**
+     * 实际执行的刷新次数
+     */
+    private final AtomicLong appliedCount = new AtomicLong();
+
+    /**
+     * 被之后的变更覆盖而合并的变更次数
+     */
+    private final AtomicLong mergedCount = new AtomicLong();
+
+    /**
+     * 与刚刷新的内容相同而丢弃的变更次数
+     */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public static NacosConfigRefreshCoalescer getSingleton() {
+        return INSTANCE;
+    }
+
+    /**
+     * 提交一次变更
+     *
+     * @param key         数据身份的唯一键
+     * @param content     新的配置内容
+     * @param quietWindow 静默窗口（毫秒），小于等于 0 时立即刷新
+     * @param maxDelay    最大延迟（毫秒），小于等于 0 时不限制
+     * @param refresher   刷新操作，总是在同一个线程中按顺序执行
+     */
+    public void submit(String key, String content, long quietWindow, long maxDelay,
+                       Consumer<String> refresher) {
+        receivedCount.incrementAndGet();
+        if (quietWindow <= 0) {
+            appliedCount.incrementAndGet();
+            refresher.accept(content);
+            return;
+        }
+        final Pending pending = pendings.computeIfAbsent(key, k -> new Pending());
+        synchronized (pending) {
+            final long now = System.nanoTime();
+            if (pending.future != null) {
+                // 覆盖尚未刷新的内容
+                pending.future.cancel(false);
+                mergedCount.incrementAndGet();
+            } else {
+                if (pending.applied && content != null && content.equals(pending.appliedContent)) {
+                    droppedCount.incrementAndGet();
+                    return;
+                }
+                pending.firstArrival = now;
+            }
+            pending.content = content;
+            long delay = TimeUnit.MILLISECONDS.toNanos(quietWindow);
+            if (maxDelay > 0) {
+                long deadline = pending.firstArrival + TimeUnit.MILLISECONDS.toNanos(maxDelay);
+                delay = Math.max(0L, Math.min(delay, deadline - now));
+            }
+            pending.future = getScheduler().schedule(() -> flush(pending, refresher), delay,
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush(Pending pending, Consumer<String> refresher) {
+        final String content;
+        synchronized (pending) {
+            content = pending.content;
+            pending.future = null;
+            pending.content = null;
+            pending.applied = true;
+            pending.appliedContent = content;
+        }
+        appliedCount.incrementAndGet();
+        try {
+            refresher.accept(content);
+        } catch (RuntimeException e) {
+            LOGGER.error("coalesced config refresh fail", e);
+        }
+    }
+
+    private ScheduledExecutorService getScheduler() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor == null) {
+            synchronized (this) {
+                executor = scheduler;
+                if (executor == null) {
+                    executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "nacos-config-refresh-coalesce");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    scheduler = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    public long getAppliedCount() {
+        return appliedCount.get();
+    }
+
+    public long getMergedCount() {
+        return mergedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private static final class Pending {
+        /**
+         * 待刷新的内容
+         */
+        private String content;
+        /**
+         * 本轮第一次变更的时间
+         */
+        private long firstArrival;
+        /**
+         * 已计划的刷新
+         */
+        private ScheduledFuture<?> future;
+        /**
+         * 是否刷新过
+         */
+        private boolean applied;
+        /**
+         * 最近一次刷新的内容
+         */
+        private String appliedContent;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.client.utils.LogUtils;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigReceivedEvent;
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+import org.slf4j.Logger;
+
+/**
+ * 配置重新校验器
+ * Re-checks property sources that were not built from the server response (from a
+ * local snapshot, or degraded after the bootstrap timeout) on a background thread,
+ * and refreshes them through the same {@link NacosPropertySourceRefresher} as the
+ * auto-refresh listener once the server content differs. Auto-refreshed sources then
+ * republish the {@link NacosConfigReceivedEvent}, so {@code @NacosValue} members follow.
+ * Failed checks are retried with an exponential back-off. One revalidator belongs to the
+ * loader of one environment; it is started once the application context has refreshed, so
+ * the events it publishes reach the listeners, and stopped when the context closes.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigRevalidator {
+
+    /**
+     * 注册到应用上下文的 bean 名称
+     */
+    public static final String BEAN_NAME = "nacosConfigRevalidator";
+
+    private static final Logger LOGGER = LogUtils.logger(NacosConfigRevalidator.class);
+
+    private static final long TIMEOUT_MILLIS = 5000L;
+
+    private static final long MAX_DELAY_MILLIS = 30000L;
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+
+    /**
+     * 配置属性源刷新器
+     */
+    private final NacosPropertySourceRefresher refresher;
+
+    /**
+     * 待校验的配置
+     */
+    private final List<Target> targets = new ArrayList<>();
+
+    /**
+     * 引导超时后降级、尚未追上服务端的配置属性源名称
+     */
+    private final Set<String> degraded = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 是否已开始校验
+     */
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * 校验线程
+     */
+    private volatile ScheduledExecutorService executor;
+
+    public NacosConfigRevalidator(NacosPropertySourceRefresher refresher) {
+        this.refresher = refresher;
+    }
+
+    /**
+     * 添加待校验的配置属性源
+     *
+     * @param propertySource 当前的配置属性源
+     * @param configService  配置服务
+     * @param properties     配置属性集
+     * @param content        构建当前配置属性源时使用的内容
+     */
+    public void add(NacosPropertySource propertySource, ConfigService configService,
+                    Properties properties, String content) {
+        add(propertySource, configService, properties, content, false);
+    }
+
+    /**
+     * 添加待校验的配置属性源
+     *
+     * @param degraded 是否为引导超时后降级的配置属性源
+     */
+    public synchronized void add(NacosPropertySource propertySource, ConfigService configService,
+                    Properties properties, String content, boolean degraded) {
+        if (degraded) {
+            this.degraded.add(propertySource.getName());
+        }
+        targets.add(new Target(propertySource, configService, properties, content));
+    }
+
+    /**
+     * 引导超时后降级、尚未追上服务端的配置属性源名称
+     */
+    public Set<String> getDegradedPropertySources() {
+        return Collections.unmodifiableSet(degraded);
+    }
+
+    public synchronized boolean isEmpty() {
+        return targets.isEmpty();
+    }
+
+    /**
+     * 在后台线程中开始校验，全部完成后线程退出；只有第一次调用生效
+     */
+    public synchronized void start() {
+        if (targets.isEmpty() || !started.compareAndSet(false, true)) {
+            return;
+        }
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nacos-config-revalidate-" + THREAD_INDEX.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor = executor;
+        final AtomicInteger remaining = new AtomicInteger(targets.size());
+        for (Target target : targets) {
+            executor.execute(() -> revalidate(executor, target, remaining, 1));
+        }
+    }
+
+    /**
+     * 停止校验并清除降级状态，应用上下文关闭时调用
+     */
+    public synchronized void stop() {
+        started.set(true);
+        final ScheduledExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        targets.clear();
+        degraded.clear();
+    }
+
+    private void revalidate(ScheduledExecutorService executor, Target target,
+                            AtomicInteger remaining, int attempt) {
+        final NacosPropertySource propertySource = target.propertySource;
+        try {
+            String content = target.configService.getConfig(propertySource.getDataId(),
+                    propertySource.getGroupId(), TIMEOUT_MILLIS);
+            NacosConfigSnapshot.write(target.properties, propertySource.getDataId(),
+                    propertySource.getGroupId(), content);
+            if (!Objects.equals(content, target.content)) {
+                publish(propertySource, target.configService, content);
+            }
+            degraded.remove(propertySource.getName());
+        } catch (NacosException | RuntimeException e) {
+            if (attempt < MAX_ATTEMPTS && !executor.isShutdown()) {
+                long delay = Math.min(MAX_DELAY_MILLIS, 1000L << (attempt - 1));
+                LOGGER.warn("revalidate config fail, data-id : {}, group : {}, retry after {} ms",
+                        propertySource.getDataId(), propertySource.getGroupId(), delay, e);
+                executor.schedule(() -> revalidate(executor, target, remaining, attempt + 1),
+                        delay, TimeUnit.MILLISECONDS);
+                return;
+            }
+            LOGGER.error("revalidate config fail, give up, data-id : {}, group : {}",
+                    propertySource.getDataId(), propertySource.getGroupId(), e);
+        }
+        if (remaining.decrementAndGet() == 0) {
+            executor.shutdown();
+        }
+    }
+
+    private void publish(NacosPropertySource propertySource, ConfigService configService,
+                         String content) {
+        // replace NacosPropertySource, as the auto-refresh listener does
+        if (!refresher.refresh(propertySource, configService, content)) {
+            return;
+        }
+        if (propertySource.isAutoRefreshed()) {
+            // 与自动刷新的监视器一样发布配置接收事件，@NacosValue 等取到校验后的新值
+            refresher.publishEvent(new NacosConfigReceivedEvent(configService, propertySource.getDataId(),
+                    propertySource.getGroupId(), content, propertySource.getType()));
+        } else {
+            LOGGER.warn("config differs from the one used at startup but auto refresh is off, "
+                            + "only the environment is updated, data-id : {}, group : {}",
+                    propertySource.getDataId(), propertySource.getGroupId());
+        }
+        LOGGER.info("config revalidated from nacos and replaced, data-id : {}, group : {}",
+                propertySource.getDataId(), propertySource.getGroupId());
+    }
+
+    private static final class Target {
+        /**
+         * 配置属性源
+         */
+        private final NacosPropertySource propertySource;
+        /**
+         * 配置服务
+         */
+        private final ConfigService configService;
+        /**
+         * 配置属性集
+         */
+        private final Properties properties;
+        /**
+         * 当前内容
+         */
+        private final String content;
+
+        Target(NacosPropertySource propertySource, ConfigService configService,
+               Properties properties, String content) {
+            this.propertySource = propertySource;
+            this.configService = configService;
+            this.properties = properties;
+            this.content = content;
+        }
+    }
+}
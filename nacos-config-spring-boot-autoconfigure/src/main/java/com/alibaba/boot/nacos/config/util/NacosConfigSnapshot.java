@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.client.config.utils.ConcurrentDiskUtil;
+import com.alibaba.nacos.client.config.utils.JvmUtil;
+import com.alibaba.nacos.client.utils.LogUtils;
+import com.alibaba.nacos.common.utils.IoUtils;
+import org.slf4j.Logger;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * 引导配置的本地快照
+ * The last config contents seen by the bootstrap loader, stored per
+ * (server, namespace, group, dataId) below
+ * {@code ${JM.SNAPSHOT.PATH:${user.home}}/nacos/bootstrapConfig}.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigSnapshot {
+
+    private static final Logger LOGGER = LogUtils.logger(NacosConfigSnapshot.class);
+
+    private static final String SNAPSHOT_BASE = System.getProperty("JM.SNAPSHOT.PATH", System.getProperty("user.home")) + File.separator + "nacos"
+            + File.separator + "bootstrapConfig";
+
+    private NacosConfigSnapshot() {
+    }
+
+    /**
+     * 读取快照
+     *
+     * @return 快照内容，不存在或读取失败时为 {@code null}
+     */
+    public static String read(Properties properties, String dataId, String groupId) {
+        File file = getSnapshotFile(properties, dataId, groupId);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            if (JvmUtil.isMultiInstance()) {
+                return ConcurrentDiskUtil.getFileContent(file, Constants.ENCODE);
+            }
+            try (InputStream in = new FileInputStream(file)) {
+                return IoUtils.toString(in, Constants.ENCODE);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("read bootstrap snapshot fail, data-id : {}, group : {}", dataId, groupId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 写入快照，内容为 {@code null} 时删除快照
+     */
+    public static void write(Properties properties, String dataId, String groupId, String content) {
+        File file = getSnapshotFile(properties, dataId, groupId);
+        if (content == null) {
+            if (file.exists() && !file.delete()) {
+                LOGGER.warn("delete bootstrap snapshot fail, data-id : {}, group : {}", dataId, groupId);
+            }
+            return;
+        }
+        File parentFile = file.getParentFile();
+        if (!parentFile.exists() && !parentFile.mkdirs()) {
+            LOGGER.error("save bootstrap snapshot error, can't create directory : {}", parentFile);
+            return;
+        }
+        try {
+            if (JvmUtil.isMultiInstance()) {
+                ConcurrentDiskUtil.writeFileContent(file, content, Constants.ENCODE);
+            } else {
+                IoUtils.writeStringToFile(file, content, Constants.ENCODE);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("write bootstrap snapshot fail, data-id : {}, group : {}", dataId, groupId, e);
+        }
+    }
+
+    private static File getSnapshotFile(Properties properties, String dataId, String groupId) {
+        String server = properties.getProperty(PropertyKeyConst.SERVER_ADDR);
+        if (!StringUtils.hasText(server)) {
+            server = properties.getProperty(PropertyKeyConst.ENDPOINT, "");
+        }
+        String namespace = properties.getProperty(PropertyKeyConst.NAMESPACE, "");
+        String env = (server + "_" + namespace).replaceAll("[^A-Za-z0-9._-]", "_");
+        return new File(SNAPSHOT_BASE + File.separator + env + File.separator + groupId, dataId);
+    }
+}
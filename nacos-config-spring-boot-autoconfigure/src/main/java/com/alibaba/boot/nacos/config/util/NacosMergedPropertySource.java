@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.util.StringUtils;
+
+/**
+ * 合并的配置属性源
+ * Holds every eagerly loaded Nacos data-id as one property source, backed by a single
+ * precedence-resolved map: the first member declaring a key wins, as it would in the
+ * environment. Property reads cost one map lookup regardless of the number of data-ids.
+ * When a member refreshes, only the keys of its diff are resolved again and the merged
+ * map is swapped copy-on-write.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosMergedPropertySource extends EnumerablePropertySource<List<NacosPropertySource>> {
+
+	/**
+	 * 合并的配置属性源名称
+	 */
+	public static final String NAME = "nacosMergedPropertySource";
+
+	/**
+	 * 按优先级解析好的属性
+	 */
+	private volatile Map<String, Object> properties;
+
+	/**
+	 * 属性名称
+	 */
+	private volatile String[] propertyNames;
+
+	public NacosMergedPropertySource(List<NacosPropertySource> members) {
+		super(NAME, new CopyOnWriteArrayList<>(members));
+		Map<String, Object> merged = new HashMap<>(64);
+		for (int i = members.size() - 1; i >= 0; i--) {
+			merged.putAll(members.get(i).getSource());
+		}
+		this.properties = merged;
+		this.propertyNames = StringUtils.toStringArray(merged.keySet());
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		return properties.get(name);
+	}
+
+	@Override
+	public boolean containsProperty(String name) {
+		return properties.containsKey(name);
+	}
+
+	@Override
+	public String[] getPropertyNames() {
+		return propertyNames;
+	}
+
+	/**
+	 * 按优先级解析好的属性，每次刷新后为新的实例
+	 */
+	public Map<String, Object> getProperties() {
+		return properties;
+	}
+
+	/**
+	 * 获取成员配置属性源
+	 *
+	 * @param name 成员配置属性源名称
+	 * @return 成员配置属性源，不存在时为 {@code null}
+	 */
+	public NacosPropertySource getMember(String name) {
+		for (NacosPropertySource member : getSource()) {
+			if (member.getName().equals(name)) {
+				return member;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 替换成员配置属性源，只重新解析有变化的属性
+	 *
+	 * @param newPropertySource 新的成员配置属性源
+	 * @param changedKeys       新增、删除与变更的属性名称
+	 */
+	public synchronized void replace(NacosPropertySource newPropertySource,
+			Collection<String> changedKeys) {
+		final List<NacosPropertySource> members = getSource();
+		final int index = members.indexOf(newPropertySource);
+		if (index < 0) {
+			return;
+		}
+		members.set(index, newPropertySource);
+		final Map<String, Object> merged = new HashMap<>(properties);
+		boolean namesChanged = false;
+		for (String key : changedKeys) {
+			NacosPropertySource winner = null;
+			for (NacosPropertySource member : members) {
+				if (member.containsProperty(key)) {
+					winner = member;
+					break;
+				}
+			}
+			if (winner != null) {
+				namesChanged |= !merged.containsKey(key);
+				merged.put(key, winner.getProperty(key));
+			}
+			else {
+				namesChanged |= merged.containsKey(key);
+				merged.remove(key);
+			}
+		}
+		this.properties = merged;
+		if (namesChanged) {
+			this.propertyNames = StringUtils.toStringArray(merged.keySet());
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.alibaba.boot.nacos.config.event.NacosConfigDiffEvent;
+import com.alibaba.boot.nacos.config.support.MultiProfilesYamlConfigParseSupport;
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.client.utils.LogUtils;
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+import org.slf4j.Logger;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * 配置属性源刷新器
+ * Replaces a {@link NacosPropertySource} in the environment when its data-id changes.
+ * The new content is parsed and compared key by key with the properties currently in
+ * the environment; identical results leave the environment untouched, otherwise the
+ * source is replaced and a {@link NacosConfigDiffEvent} is published.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosPropertySourceRefresher {
+
+    private static final Logger LOGGER = LogUtils.logger(NacosPropertySourceRefresher.class);
+
+    /**
+     * 可配置的环境组件
+     */
+    private final ConfigurableEnvironment environment;
+
+    /**
+     * 应用事件发布者，应用上下文就绪前为 {@code null}
+     */
+    private volatile ApplicationEventPublisher applicationEventPublisher;
+
+    public NacosPropertySourceRefresher(ConfigurableEnvironment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * 刷新配置属性源
+     *
+     * @param propertySource 注册监视器时的配置属性源，提供名称、数据身份、分组身份与类型
+     * @param configService  配置服务
+     * @param content        新的配置内容
+     * @return 配置属性是否有变化
+     */
+    public synchronized boolean refresh(NacosPropertySource propertySource,
+                                        ConfigService configService, String content) {
+        final String name = propertySource.getName();
+        final MutablePropertySources propertySources = environment.getPropertySources();
+        PropertySource<?> current = propertySources.get(name);
+        // 合并配置属性源时，数据身份是合并的配置属性源的成员
+        NacosMergedPropertySource mergedPropertySource = null;
+        if (current == null) {
+            PropertySource<?> merged = propertySources.get(NacosMergedPropertySource.NAME);
+            if (merged instanceof NacosMergedPropertySource) {
+                mergedPropertySource = (NacosMergedPropertySource) merged;
+                current = mergedPropertySource.getMember(name);
+            }
+            if (current == null) {
+                return false;
+            }
+        }
+        final NacosPropertySource newPropertySource = MultiProfilesYamlConfigParseSupport.parseWith(
+                environment, () -> new NacosPropertySource(propertySource.getDataId(),
+                        propertySource.getGroupId(), name, content, propertySource.getType()));
+        newPropertySource.setDataId(propertySource.getDataId());
+        newPropertySource.setGroupId(propertySource.getGroupId());
+        newPropertySource.setType(propertySource.getType());
+        newPropertySource.setAutoRefreshed(propertySource.isAutoRefreshed());
+        // 延迟加载的占位配置属性源没有已解析的属性，视为全部新增
+        final Map<String, Object> previous = current instanceof NacosPropertySource
+                ? ((NacosPropertySource) current).getSource() : null;
+        final NacosConfigDiffEvent event = NacosConfigDiffEvent.between(configService,
+                propertySource.getDataId(), propertySource.getGroupId(), previous,
+                newPropertySource.getSource());
+        if (event == null && current instanceof NacosPropertySource) {
+            LOGGER.debug("config unchanged after parsing, skip refresh, data-id : {}, group : {}",
+                    propertySource.getDataId(), propertySource.getGroupId());
+            return false;
+        }
+        // replace NacosPropertySource
+        if (mergedPropertySource != null) {
+            mergedPropertySource.replace(newPropertySource,
+                    event != null ? event.getChangedKeys() : Collections.<String>emptySet());
+        } else {
+            propertySources.replace(name, newPropertySource);
+        }
+        if (event == null) {
+            return true;
+        }
+        LOGGER.info("config refreshed, data-id : {}, group : {}, added : {}, removed : {}, changed : {}",
+                propertySource.getDataId(), propertySource.getGroupId(), event.getAdded().size(),
+                event.getRemoved().size(), event.getChanged().size());
+        publishEvent(event);
+        return true;
+    }
+
+    /**
+     * 发布应用事件，应用上下文就绪前忽略
+     */
+    void publishEvent(ApplicationEvent event) {
+        final ApplicationEventPublisher publisher = applicationEventPublisher;
+        if (publisher != null) {
+            publisher.publishEvent(event);
+        }
+    }
+
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+/**
+ * 属性源的前缀索引
+ * Sorted key index over the property sources of one environment, so that a prefix
+ * lookup costs O(log n + matching keys) instead of a scan of every key. Only sources
+ * whose backing map is never modified in place are indexed: Nacos sources are replaced
+ * with a new instance on refresh, and the merged source swaps its map, which
+ * invalidates just that source's index.
+ * Other sources return {@code null} and have to be scanned by the caller.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+class PropertySourcePrefixIndex {
+
+	private static final Map<ConfigurableEnvironment, PropertySourcePrefixIndex> INDEXES = Collections
+			.synchronizedMap(new WeakHashMap<>(4));
+
+	/**
+	 * 各属性源的索引，键为属性源名称
+	 */
+	private final Map<String, SourceIndex> indexes = new ConcurrentHashMap<>(16);
+
+	static PropertySourcePrefixIndex forEnvironment(ConfigurableEnvironment environment) {
+		synchronized (INDEXES) {
+			return INDEXES.computeIfAbsent(environment, env -> new PropertySourcePrefixIndex());
+		}
+	}
+
+	/**
+	 * 获取属性源中以前缀开头的属性
+	 *
+	 * @return 匹配的属性，属性源不可索引时为 {@code null}
+	 */
+	Map<String, String> extract(PropertySource<?> propertySource, String prefix) {
+		if (!isIndexable(propertySource)) {
+			return null;
+		}
+		final Object source = propertySource instanceof NacosMergedPropertySource
+				? ((NacosMergedPropertySource) propertySource).getProperties()
+				: propertySource.getSource();
+		SourceIndex index = indexes.get(propertySource.getName());
+		if (index == null || index.source != source) {
+			// 属性源已被替换，只重建这一个属性源的索引
+			index = new SourceIndex(source, (Map<?, ?>) source);
+			indexes.put(propertySource.getName(), index);
+		}
+		Map<String, String> matched = new TreeMap<>();
+		for (Map.Entry<String, String> entry : index.keys.tailMap(prefix, true).entrySet()) {
+			if (!entry.getKey().startsWith(prefix)) {
+				break;
+			}
+			matched.put(entry.getKey(), entry.getValue());
+		}
+		return matched;
+	}
+
+	/**
+	 * 只保留仍在环境中的属性源的索引
+	 */
+	void retain(Collection<String> names) {
+		indexes.keySet().retainAll(names);
+	}
+
+	private static boolean isIndexable(PropertySource<?> propertySource) {
+		if (propertySource instanceof NacosMergedPropertySource) {
+			return true;
+		}
+		if (!(propertySource.getSource() instanceof Map)) {
+			return false;
+		}
+		if (propertySource instanceof NacosPropertySource
+				|| propertySource instanceof SystemEnvironmentPropertySource) {
+			return true;
+		}
+		return propertySource instanceof OriginTrackedMapPropertySource
+				&& ((OriginTrackedMapPropertySource) propertySource).isImmutable();
+	}
+
+	private static final class SourceIndex {
+		/**
+		 * 建立索引时的属性源对象
+		 */
+		private final Object source;
+		/**
+		 * 按属性名称排序的属性
+		 */
+		private final NavigableMap<String, String> keys = new TreeMap<>();
+
+		SourceIndex(Object source, Map<?, ?> map) {
+			this.source = source;
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				keys.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+			}
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util.converter;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.GenericConverter;
+
+/**
+ * 类型转换结果缓存
+ * A converter of strings to enums that remembers its results, owned by the
+ * {@link NacosValueConversionService} of one application context. A value shared by many
+ * {@code @NacosValue} fields, or re-published unchanged on a refresh, is converted once.
+ * Lookups are lock-free and a hit allocates nothing: results are kept per enum type, keyed
+ * by the raw value, so a changed value never sees the conversion of the previous one. Once
+ * {@link #getMaximumSize()} values are cached, further values are converted without being
+ * cached, and values longer than {@link #MAXIMUM_VALUE_LENGTH} are never cached. Booleans
+ * are cheap enough to convert in place and are not cached.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConversionCache implements GenericConverter {
+
+	/**
+	 * 默认的最大缓存条目数
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+	/**
+	 * 可缓存的原始值最大长度
+	 */
+	public static final int MAXIMUM_VALUE_LENGTH = 256;
+
+	private static final Object NULL_VALUE = new Object();
+
+	private final NacosStringToEnumConverterFactory enumConverterFactory = new NacosStringToEnumConverterFactory();
+
+	/**
+	 * 最大缓存条目数
+	 */
+	private final int maximumSize;
+
+	/**
+	 * 枚举类型到 (原始值到转换结果)
+	 */
+	private final ConcurrentMap<Class<?>, ConcurrentMap<String, Object>> values = new ConcurrentHashMap<>(16);
+
+	/**
+	 * 缓存条目数
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * 命中次数
+	 */
+	private final AtomicLong hitCount = new AtomicLong();
+
+	/**
+	 * 未命中次数
+	 */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * 未命中时的累计转换耗时（纳秒）
+	 */
+	private final AtomicLong conversionNanos = new AtomicLong();
+
+	public NacosConversionCache(int maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	@Override
+	public Set<ConvertiblePair> getConvertibleTypes() {
+		return Collections.singleton(new ConvertiblePair(String.class, Enum.class));
+	}
+
+	@Override
+	public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+		if (source == null) {
+			return null;
+		}
+		final String value = (String) source;
+		final Class<?> type = targetType.getObjectType();
+		if (value.length() > MAXIMUM_VALUE_LENGTH) {
+			return doConvert(value, type);
+		}
+		ConcurrentMap<String, Object> converted = values.get(type);
+		Object result = converted != null ? converted.get(value) : null;
+		if (result != null) {
+			hitCount.incrementAndGet();
+			return result == NULL_VALUE ? null : result;
+		}
+		missCount.incrementAndGet();
+		final long start = System.nanoTime();
+		result = doConvert(value, type);
+		conversionNanos.addAndGet(System.nanoTime() - start);
+		if (size.get() < maximumSize) {
+			if (converted == null) {
+				converted = values.computeIfAbsent(type, key -> new ConcurrentHashMap<>(16));
+			}
+			if (converted.putIfAbsent(value, result == null ? NULL_VALUE : result) == null) {
+				size.incrementAndGet();
+			}
+		}
+		return result;
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Object doConvert(String value, Class<?> type) {
+		Converter<String, ? extends Enum> converter = enumConverterFactory
+				.getConverter((Class<? extends Enum>) type);
+		return converter.convert(value);
+	}
+
+	public void clear() {
+		values.clear();
+		size.set(0);
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public long getConversionNanos() {
+		return conversionNanos.get();
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public int getSize() {
+		return size.get();
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util.converter;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.converter.ConverterRegistry;
+
+/**
+ * 配置转换服务
+ * The Spring Boot application conversion service with the Nacos converters registered
+ * in front of the defaults for the same types. Every converter is stateless: the shared
+ * instance serves the binders of {@code @NacosConfigurationProperties}, and
+ * {@link NacosValueConversionService} registers the same converters for {@code @NacosValue},
+ * without creating a {@code PropertyEditor} per conversion. The conversion service of the
+ * application never gets the Nacos converters.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConversionService extends ApplicationConversionService {
+
+	private static volatile NacosConversionService sharedInstance;
+
+	public NacosConversionService() {
+		addNacosConverters(this);
+	}
+
+	/**
+	 * 共享的配置转换服务
+	 */
+	public static NacosConversionService getSingleton() {
+		NacosConversionService instance = sharedInstance;
+		if (instance == null) {
+			synchronized (NacosConversionService.class) {
+				instance = sharedInstance;
+				if (instance == null) {
+					instance = new NacosConversionService();
+					sharedInstance = instance;
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * 注册配置转换器，后注册的转换器优先于同类型的已有转换器
+	 *
+	 * @param registry 转换器注册表
+	 */
+	public static void addNacosConverters(ConverterRegistry registry) {
+		registry.addConverter(new NacosCharSequenceToStringConverter());
+		registry.addConverter(new NacosStringToBooleanConverter());
+		registry.addConverterFactory(new NacosStringToEnumConverterFactory());
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util.converter;
+
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * 字符串到布尔值的转换器
+ * Accepts the same values as {@code NacosCustomBooleanEditor} ({@code true/on/yes/1},
+ * {@code false/off/no/0}, case-insensitive, surrounding whitespace ignored) and treats an
+ * empty text as {@code null}. The text is compared in place, without trimming or case
+ * folding into new strings. Stateless, one instance serves every conversion.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public final class NacosStringToBooleanConverter implements Converter<String, Boolean> {
+
+	private static final String[] TRUE_VALUES = { "true", "on", "yes", "1" };
+
+	private static final String[] FALSE_VALUES = { "false", "off", "no", "0" };
+
+	@Override
+	public Boolean convert(String source) {
+		int start = 0;
+		int end = source.length();
+		while (start < end && Character.isWhitespace(source.charAt(start))) {
+			start++;
+		}
+		while (end > start && Character.isWhitespace(source.charAt(end - 1))) {
+			end--;
+		}
+		if (start == end) {
+			return null;
+		}
+		if (matches(source, start, end, TRUE_VALUES)) {
+			return Boolean.TRUE;
+		}
+		if (matches(source, start, end, FALSE_VALUES)) {
+			return Boolean.FALSE;
+		}
+		throw new IllegalArgumentException("Invalid boolean value [" + source + "]");
+	}
+
+	private static boolean matches(String source, int start, int end, String[] values) {
+		final int length = end - start;
+		for (String value : values) {
+			if (value.length() == length && source.regionMatches(true, start, value, 0, length)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
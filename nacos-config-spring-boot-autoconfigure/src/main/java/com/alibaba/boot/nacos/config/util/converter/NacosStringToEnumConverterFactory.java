@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util.converter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterFactory;
+
+/**
+ * 字符串到枚举的转换器工厂
+ * Builds one lookup table per enum class on first use. A conversion first tries the exact
+ * constant name, then the constants of the same length compared case-insensitively in
+ * place, and only then the lenient form that also ignores non alphanumeric characters
+ * ({@code some-value} for {@code SOME_VALUE}), the one path that allocates. An empty text
+ * converts to {@code null}.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public final class NacosStringToEnumConverterFactory implements ConverterFactory<String, Enum> {
+
+	/**
+	 * 每个枚举类型的转换器
+	 */
+	private final ConcurrentMap<Class<?>, EnumConverter<?>> converters = new ConcurrentHashMap<>(16);
+
+	@Override
+	public <T extends Enum> Converter<String, T> getConverter(Class<T> targetType) {
+		Class<?> enumType = targetType;
+		while (enumType != null && !enumType.isEnum()) {
+			enumType = enumType.getSuperclass();
+		}
+		if (enumType == null) {
+			throw new IllegalArgumentException(
+					"The target type " + targetType.getName() + " does not refer to an enum");
+		}
+		final Class<?> type = enumType;
+		return (Converter<String, T>) converters.computeIfAbsent(type,
+				key -> new EnumConverter(key));
+	}
+
+	/**
+	 * 单个枚举类型的转换器
+	 */
+	private static final class EnumConverter<T extends Enum<T>> implements Converter<String, T> {
+		/**
+		 * 枚举类型
+		 */
+		private final Class<T> enumType;
+		/**
+		 * 名称到枚举常量
+		 */
+		private final Map<String, T> byName;
+		/**
+		 * 按名称长度分组的枚举常量
+		 */
+		private final Object[][] byLength;
+		/**
+		 * 宽松形式（小写、只保留字母与数字）的名称到枚举常量
+		 */
+		private final Map<String, T> byLenientName;
+
+		EnumConverter(Class<T> enumType) {
+			this.enumType = enumType;
+			T[] constants = enumType.getEnumConstants();
+			this.byName = new HashMap<>(constants.length * 2);
+			this.byLenientName = new HashMap<>(constants.length * 2);
+			int maxLength = 0;
+			for (T constant : constants) {
+				byName.put(constant.name(), constant);
+				byLenientName.putIfAbsent(lenient(constant.name()), constant);
+				maxLength = Math.max(maxLength, constant.name().length());
+			}
+			List<List<T>> groups = new ArrayList<>(maxLength + 1);
+			for (int i = 0; i <= maxLength; i++) {
+				groups.add(new ArrayList<>(1));
+			}
+			for (T constant : constants) {
+				groups.get(constant.name().length()).add(constant);
+			}
+			this.byLength = new Object[maxLength + 1][];
+			for (int i = 0; i <= maxLength; i++) {
+				this.byLength[i] = groups.get(i).toArray();
+			}
+		}
+
+		@Override
+		public T convert(String source) {
+			T constant = byName.get(source);
+			if (constant != null) {
+				return constant;
+			}
+			int start = 0;
+			int end = source.length();
+			while (start < end && Character.isWhitespace(source.charAt(start))) {
+				start++;
+			}
+			while (end > start && Character.isWhitespace(source.charAt(end - 1))) {
+				end--;
+			}
+			if (start == end) {
+				return null;
+			}
+			final int length = end - start;
+			if (length < byLength.length) {
+				for (Object candidate : byLength[length]) {
+					if (source.regionMatches(true, start, ((T) candidate).name(), 0, length)) {
+						return (T) candidate;
+					}
+				}
+			}
+			constant = byLenientName.get(lenient(source));
+			if (constant != null) {
+				return constant;
+			}
+			throw new IllegalArgumentException(
+					"No enum constant " + enumType.getCanonicalName() + " for value [" + source + "]");
+		}
+
+		private static String lenient(String name) {
+			StringBuilder builder = new StringBuilder(name.length());
+			for (int i = 0; i < name.length(); i++) {
+				char ch = name.charAt(i);
+				if (Character.isLetterOrDigit(ch)) {
+					builder.append(Character.toLowerCase(ch));
+				}
+			}
+			return builder.toString();
+		}
+	}
+}
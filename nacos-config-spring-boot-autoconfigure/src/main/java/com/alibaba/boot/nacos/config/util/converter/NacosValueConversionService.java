@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util.converter;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.core.convert.support.GenericConversionService;
+
+/**
+ * {@code @NacosValue} 的转换服务
+ * The conversion service of {@code @NacosValue} injection and refreshes. The Nacos
+ * converters handle their own pairs, every other conversion is delegated to the conversion
+ * service of the bean factory, so the converters never reach the conversion service the
+ * rest of the application shares. Conversions to an enum go through a
+ * {@link NacosConversionCache} owned by this service, which lives as long as its context.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosValueConversionService extends GenericConversionService {
+
+	/**
+	 * 枚举转换结果缓存
+	 */
+	private final NacosConversionCache conversionCache = new NacosConversionCache(
+			NacosConversionCache.DEFAULT_MAXIMUM_SIZE);
+
+	/**
+	 * @param delegate 提供 bean 工厂当前的转换服务，可能返回 {@code null}
+	 */
+	public NacosValueConversionService(Supplier<ConversionService> delegate) {
+		addConverter(new DelegatingConverter(delegate));
+		NacosConversionService.addNacosConverters(this);
+		// 缓存转换结果，优先于上面的枚举转换器
+		addConverter(conversionCache);
+	}
+
+	public NacosConversionCache getConversionCache() {
+		return conversionCache;
+	}
+
+	/**
+	 * 委托给 bean 工厂转换服务的转换器，只在没有更具体的转换器时使用
+	 */
+	private static final class DelegatingConverter implements ConditionalGenericConverter {
+
+		private final Supplier<ConversionService> delegate;
+
+		DelegatingConverter(Supplier<ConversionService> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Set<ConvertiblePair> getConvertibleTypes() {
+			return Collections.singleton(new ConvertiblePair(Object.class, Object.class));
+		}
+
+		@Override
+		public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+			ConversionService conversionService = delegate.get();
+			return conversionService != null && conversionService.canConvert(sourceType, targetType);
+		}
+
+		@Override
+		public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+			return delegate.get().convert(source, sourceType, targetType);
+		}
+	}
+}
@@ -21,7 +21,11 @@ import java.beans.PropertyEditorSupport;
 /**
  * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
  * @since 0.2.3
+ * @deprecated since 0.2.12, a {@code PropertyEditor} is stateful and must not be shared
+ * across threads, use the stateless
+ * {@link com.alibaba.boot.nacos.config.util.converter.NacosCharSequenceToStringConverter} instead
  */
+@Deprecated
 public class NacosCharSequenceEditor extends PropertyEditorSupport {
 
 	@Override
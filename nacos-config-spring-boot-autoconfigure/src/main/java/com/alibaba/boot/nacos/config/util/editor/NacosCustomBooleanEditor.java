@@ -24,7 +24,11 @@ import org.springframework.util.StringUtils;
 /**
  * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
  * @since 0.2.3
+ * @deprecated since 0.2.12, a {@code PropertyEditor} is stateful and must not be shared
+ * across threads, use the stateless
+ * {@link com.alibaba.boot.nacos.config.util.converter.NacosStringToBooleanConverter} instead
  */
+@Deprecated
 public class NacosCustomBooleanEditor extends PropertyEditorSupport {
 
 	public static final String VALUE_TRUE = "true";
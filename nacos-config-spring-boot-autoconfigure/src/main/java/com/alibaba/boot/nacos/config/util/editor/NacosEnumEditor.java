@@ -26,7 +26,11 @@ import java.util.List;
 /**
  * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
  * @since 0.2.3
+ * @deprecated since 0.2.12, a {@code PropertyEditor} is stateful and must not be shared
+ * across threads, use the stateless
+ * {@link com.alibaba.boot.nacos.config.util.converter.NacosStringToEnumConverterFactory} instead
  */
+@Deprecated
 public class NacosEnumEditor implements PropertyEditor {
 
 	private final List<PropertyChangeListener> listeners = new ArrayList<>(8);
@@ -17,7 +17,9 @@
 package com.alibaba.boot.nacos.config.util.log;
 
 import com.alibaba.boot.nacos.config.properties.NacosConfigProperties;
+import com.alibaba.boot.nacos.config.util.NacosConfigContentRegistry;
 import com.alibaba.boot.nacos.config.util.NacosConfigLoader;
+import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.config.listener.AbstractListener;
@@ -28,28 +30,45 @@ import com.alibaba.nacos.client.logging.NacosLogging;
 import com.alibaba.nacos.client.utils.LogUtils;
 import com.alibaba.nacos.common.utils.IoUtils;
 import com.alibaba.nacos.common.utils.StringUtils;
-import com.alibaba.nacos.spring.util.NacosUtils;
 import org.slf4j.Logger;
 import org.springframework.boot.context.logging.LoggingApplicationListener;
+import org.springframework.boot.logging.LogLevel;
 import org.springframework.boot.logging.LoggingInitializationContext;
 import org.springframework.boot.logging.LoggingSystem;
 import org.springframework.boot.logging.LoggingSystemFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.util.DigestUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /**
  * 基于日志输出的配置自动刷新处理器
  * Start:
- * Step1: get the log XML configuration from the configuration center
+ * Step1: get the log XML configuration from the configuration center, probing the candidate
+ * data-ids concurrently, or only the one found on the previous start
  * Step2: modify the springboot log configuration path
  * Modifying log configuration during operation:
- * Clean up the configuration through LoggingSystem and reload the configuration.
+ * Off the Nacos notification thread, apply a change that only touches logger levels
+ * through LoggingSystem#setLogLevel, otherwise clean up the configuration through
+ * LoggingSystem and reload the configuration.
  *
  * @author <a href="mailto:hujun3@xiaomi.com">hujun</a>
  */
@@ -74,16 +93,19 @@ public class LogAutoFreshProcess {
      */
     private final Function<Properties, ConfigService> builder;
 
-    private static final List<String> LOG_DATA_ID = new ArrayList<>();
+    /**
+     * 待重新加载的日志配置内容，重新加载前的多次变更只保留最新内容
+     */
+    private final AtomicReference<String> pendingContent = new AtomicReference<>();
+
+    /**
+     * 当前生效的日志配置
+     */
+    private volatile LogConfiguration appliedConfiguration;
 
     private static final String LOG_CACHE_BASE = System.getProperty("JM.SNAPSHOT.PATH", System.getProperty("user.home")) + File.separator + "nacos"
             + File.separator + "logConfig";
 
-    static {
-        LOG_DATA_ID.add("logback.xml");
-        LOG_DATA_ID.add("log4j2.xml");
-    }
-
     public static LogAutoFreshProcess build(ConfigurableEnvironment environment, NacosConfigProperties nacosConfigProperties, NacosConfigLoader nacosConfigLoader, Function<Properties, ConfigService> builder) {
         return new LogAutoFreshProcess(environment, nacosConfigProperties, nacosConfigLoader, builder);
     }
@@ -96,34 +118,184 @@ public class LogAutoFreshProcess {
     }
 
     public void process() {
+        final StartupStep step = nacosConfigLoader.getApplicationStartup()
+                .start("nacos.config.bootstrap.log");
+        try {
+            doProcess(step);
+        } finally {
+            step.end();
+        }
+    }
+
+    private void doProcess(StartupStep step) {
+        final NacosConfigProperties.Bootstrap bootstrap = nacosConfigProperties.getBootstrap();
         // 分组名称
-        final String groupName = environment
-                .resolvePlaceholders(nacosConfigProperties.getGroup());
+        final String groupName = environment.resolvePlaceholders(
+                StringUtils.isNotBlank(bootstrap.getLogGroup()) ? bootstrap.getLogGroup()
+                        : nacosConfigProperties.getGroup());
+        step.tag("group", groupName);
+        // 日志数据身份的候选列表
+        final List<String> candidates = new ArrayList<>();
+        if (bootstrap.getLogDataIds() != null) {
+            for (String candidate : bootstrap.getLogDataIds()) {
+                String dataId = environment.resolvePlaceholders(candidate).trim();
+                if (!dataId.isEmpty() && !candidates.contains(dataId)) {
+                    candidates.add(dataId);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+        step.tag("candidates", candidates.toString());
         // 构建配置服务
         ConfigService configService = builder.apply(nacosConfigLoader.getGlobalProperties());
-        // 日志数据身份
-        for (String dataId : LOG_DATA_ID) {
-            // 配置内容
-            String content = NacosUtils.getContent(configService, dataId, groupName);
-            if (StringUtils.isNotBlank(content)) {
-                this.writeLogFile(content, dataId);
-                System.setProperty(LoggingApplicationListener.CONFIG_PROPERTY, LOG_CACHE_BASE + File.separator + dataId);
-                // 注册监视器
-                this.registerListener(configService, dataId, groupName);
-                return;
+        final File foundFile = getFoundDataIdFile(groupName, candidates);
+        // 上次启动找到的数据身份，只拉取该数据身份
+        final String foundDataId = readFoundDataId(foundFile);
+        Map.Entry<String, String> found = null;
+        if (foundDataId != null && candidates.contains(foundDataId)) {
+            List<String> previous = new ArrayList<>(1);
+            previous.add(foundDataId);
+            found = probe(configService, previous, groupName);
+        }
+        if (found == null) {
+            found = probe(configService, candidates, groupName);
+            if (found != null && !found.getKey().equals(foundDataId)) {
+                writeFoundDataId(foundFile, found.getKey());
+            }
+        }
+        if (found == null) {
+            return;
+        }
+        final String dataId = found.getKey();
+        final String content = found.getValue();
+        step.tag("dataId", dataId)
+                .tag("bytes", () -> String.valueOf(content.getBytes(StandardCharsets.UTF_8).length));
+        this.writeLogFile(content, dataId);
+        if (bootstrap.isLogDiffEnable()) {
+            appliedConfiguration = LogConfiguration.parse(content);
+        }
+        System.setProperty(LoggingApplicationListener.CONFIG_PROPERTY, LOG_CACHE_BASE + File.separator + dataId);
+        // 注册监视器
+        this.registerListener(configService, dataId, groupName);
+    }
+
+    /**
+     * 并发拉取候选数据身份的配置内容，整体耗时不超过 {@link NacosConfigProperties.Bootstrap#getLogTimeout()}
+     *
+     * @return 按候选顺序第一个有内容的数据身份及其配置内容，都没有内容时返回 null
+     */
+    private Map.Entry<String, String> probe(ConfigService configService, List<String> candidates,
+                                            String groupName) {
+        final Properties properties = nacosConfigLoader.getGlobalProperties();
+        final long timeout = nacosConfigProperties.getBootstrap().getLogTimeout();
+        if (candidates.size() == 1 && timeout <= 0) {
+            String content = NacosConfigContentRegistry.getSingleton().getContent(configService,
+                    properties, candidates.get(0), groupName);
+            return StringUtils.isNotBlank(content)
+                    ? new AbstractMap.SimpleImmutableEntry<>(candidates.get(0), content) : null;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        final AtomicInteger threadIndex = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(candidates.size(), runnable -> {
+            Thread thread = new Thread(runnable, "nacos-config-log-probe-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<String>> futures = new ArrayList<>(candidates.size());
+            for (String dataId : candidates) {
+                futures.add(executor.submit(() -> NacosConfigContentRegistry.getSingleton()
+                        .getContent(configService, properties, dataId, groupName)));
+            }
+            // 按候选顺序取结果，前面的候选都没有内容时才使用后面的候选
+            for (int i = 0; i < futures.size(); i++) {
+                final String dataId = candidates.get(i);
+                String content;
+                try {
+                    content = timeout <= 0 ? futures.get(i).get()
+                            : futures.get(i).get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    LOGGER.warn("load log config from nacos exceeded the timeout of {} ms, data-id is : {}, group is : {}",
+                            timeout, dataId, groupName);
+                    continue;
+                } catch (ExecutionException e) {
+                    LOGGER.warn("load log config from nacos fail, data-id is : {}, group is : {}",
+                            dataId, groupName, e.getCause());
+                    continue;
+                }
+                if (StringUtils.isNotBlank(content)) {
+                    return new AbstractMap.SimpleImmutableEntry<>(dataId, content);
+                }
             }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading log config from nacos", e);
+        } finally {
+            // 不中断进行中的拉取，其结果在注册表中共享
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 记录找到的数据身份的文件，按服务端、命名空间、分组与候选列表区分
+     */
+    private File getFoundDataIdFile(String groupName, List<String> candidates) {
+        final Properties properties = nacosConfigLoader.getGlobalProperties();
+        String server = properties.getProperty(PropertyKeyConst.SERVER_ADDR);
+        if (StringUtils.isBlank(server)) {
+            server = properties.getProperty(PropertyKeyConst.ENDPOINT, "");
+        }
+        String namespace = properties.getProperty(PropertyKeyConst.NAMESPACE, "");
+        String env = (server + "_" + namespace).replaceAll("[^A-Za-z0-9._-]", "_");
+        String key = DigestUtils.md5DigestAsHex(String.join(",", candidates).getBytes(StandardCharsets.UTF_8));
+        return new File(LOG_CACHE_BASE + File.separator + env + File.separator + groupName,
+                "found-" + key);
+    }
+
+    private String readFoundDataId(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            String dataId = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+            return dataId.isEmpty() ? null : dataId;
+        } catch (IOException e) {
+            LOGGER.warn("read found log data-id fail : {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeFoundDataId(File file, String dataId) {
+        File parentFile = file.getParentFile();
+        if (!parentFile.exists() && !parentFile.mkdirs()) {
+            LOGGER.warn("save found log data-id error, can't create directory : {}", parentFile);
+            return;
+        }
+        try {
+            IoUtils.writeStringToFile(file, dataId, Constants.ENCODE);
+        } catch (IOException e) {
+            LOGGER.warn("write found log data-id fail : {}", file, e);
         }
     }
 
     private void registerListener(ConfigService configService, String dataId, String groupName) {
+        // 日志配置重新加载执行器
+        final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nacos-config-log-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
         try {
             configService.addListener(dataId, groupName, new AbstractListener() {
                 @Override
                 public void receiveConfigInfo(String configInfo) {
-                    if (StringUtils.isNotBlank(configInfo)) {
-                        writeLogFile(configInfo, dataId);
-                        // 重新加载配置
-                        reloadConfig(LOG_CACHE_BASE + File.separator + dataId);
+                    if (StringUtils.isNotBlank(configInfo)
+                            && pendingContent.getAndSet(configInfo) == null) {
+                        // 重新加载配置，不占用配置通知线程
+                        reloadExecutor.execute(() -> reload(dataId));
                     }
                 }
             });
@@ -152,13 +324,40 @@ public class LogAutoFreshProcess {
         }
     }
 
-    private void reloadConfig(String logPath) {
+    private void reload(String dataId) {
+        final String content = pendingContent.getAndSet(null);
+        if (content == null) {
+            return;
+        }
+        try {
+            writeLogFile(content, dataId);
+            reloadConfig(content, LOG_CACHE_BASE + File.separator + dataId);
+        } catch (Exception e) {
+            LOGGER.error("reload log config fail, dataId : {}", dataId, e);
+        }
+    }
+
+    private void reloadConfig(String content, String logPath) {
         LoggingSystem loggingSystem = LoggingSystemFactory.fromSpringFactories()
                 .getLoggingSystem(this.getClass().getClassLoader());
+        LogConfiguration configuration = null;
+        if (nacosConfigProperties.getBootstrap().isLogDiffEnable()) {
+            configuration = LogConfiguration.parse(content);
+            Map<String, LogLevel> levelChanges = configuration == null ? null
+                    : configuration.levelChanges(appliedConfiguration);
+            if (levelChanges != null) {
+                // 只有日志级别变化，保留现有的输出源
+                levelChanges.forEach(loggingSystem::setLogLevel);
+                appliedConfiguration = configuration;
+                LOGGER.info("log levels updated : {}", levelChanges);
+                return;
+            }
+        }
         loggingSystem.cleanUp();
         loggingSystem.initialize(new LoggingInitializationContext(environment),
                 logPath, null);
         NacosLogging.getInstance().loadConfiguration();
+        appliedConfiguration = configuration;
     }
 
 }
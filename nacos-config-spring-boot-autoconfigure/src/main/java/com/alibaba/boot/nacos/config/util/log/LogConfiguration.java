@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.boot.nacos.config.util.log;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * 日志配置的结构与日志级别
+ * Splits a logback or log4j2 XML configuration into the levels of its loggers and the
+ * rest of the document, so that two versions which only differ in levels can be applied
+ * through {@link LoggingSystem#setLogLevel} without re-initializing the appenders.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public final class LogConfiguration {
+
+    /**
+     * 日志记录器元素（logback 与 log4j2），忽略大小写
+     */
+    private static final Set<String> LOGGER_ELEMENTS = new HashSet<>(
+            Arrays.asList("logger", "root", "asynclogger", "asyncroot"));
+
+    /**
+     * 按条件生效的元素（logback 的 springProfile 与 if/then/else，log4j2 的 SpringProfile、Select
+     * 与各种 Arbiter），忽略大小写；其中的日志级别不一定生效，变化视为结构变化
+     */
+    private static final Set<String> CONDITIONAL_ELEMENTS = new HashSet<>(
+            Arrays.asList("springprofile", "if", "then", "else", "select"));
+
+    /**
+     * 日志记录器名称到日志级别，未设置级别时为 null
+     */
+    private final Map<String, String> levels;
+
+    /**
+     * 去除日志级别后的文档结构
+     */
+    private final String structure;
+
+    private LogConfiguration(Map<String, String> levels, String structure) {
+        this.levels = levels;
+        this.structure = structure;
+    }
+
+    /**
+     * 解析日志配置
+     *
+     * @param content 日志配置内容
+     * @return 日志配置，内容无法解析时返回 null
+     */
+    public static LogConfiguration parse(String content) {
+        if (content == null) {
+            return null;
+        }
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setExpandEntityReferences(false);
+            DocumentBuilder documentBuilder = factory.newDocumentBuilder();
+            // 解析失败时回退为完整的重新初始化，不输出到标准错误
+            documentBuilder.setErrorHandler(new DefaultHandler());
+            Element root = documentBuilder.parse(new InputSource(new StringReader(content)))
+                    .getDocumentElement();
+            Map<String, String> levels = new LinkedHashMap<>();
+            StringBuilder structure = new StringBuilder(content.length());
+            collect(root, false, levels, structure);
+            return new LogConfiguration(Collections.unmodifiableMap(levels), structure.toString());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 与上一版本比较，只有日志级别变化时返回需要设置的日志级别
+     *
+     * @param previous 上一版本
+     * @return 日志记录器名称到日志级别（null 表示继承上级），结构变化或级别无法增量设置时返回 null
+     */
+    public Map<String, LogLevel> levelChanges(LogConfiguration previous) {
+        if (previous == null || !structure.equals(previous.structure)) {
+            return null;
+        }
+        Map<String, LogLevel> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : levels.entrySet()) {
+            String previousLevel = previous.levels.get(entry.getKey());
+            if (entry.getValue() == null ? previousLevel == null : entry.getValue().equals(previousLevel)) {
+                continue;
+            }
+            if (entry.getValue() == null) {
+                changes.put(entry.getKey(), null);
+                continue;
+            }
+            LogLevel level = toLogLevel(entry.getValue());
+            if (level == null) {
+                return null;
+            }
+            changes.put(entry.getKey(), level);
+        }
+        return changes;
+    }
+
+    public Map<String, String> getLevels() {
+        return levels;
+    }
+
+    private static void collect(Element element, boolean conditional, Map<String, String> levels,
+                                StringBuilder structure) {
+        final String tagName = element.getTagName().toLowerCase(Locale.ROOT);
+        // 按条件生效的日志记录器不单独提取级别，保留在结构中
+        final boolean logger = LOGGER_ELEMENTS.contains(tagName) && !conditional;
+        final boolean childConditional = conditional || CONDITIONAL_ELEMENTS.contains(tagName)
+                || tagName.endsWith("arbiter");
+        structure.append('<').append(element.getTagName());
+        // 属性按名称排序，顺序变化不视为结构变化
+        Map<String, String> attributes = new TreeMap<>();
+        NamedNodeMap attributeNodes = element.getAttributes();
+        for (int i = 0; i < attributeNodes.getLength(); i++) {
+            Node attribute = attributeNodes.item(i);
+            attributes.put(attribute.getNodeName(), attribute.getNodeValue());
+        }
+        String level = null;
+        if (logger) {
+            level = attributes.remove("level");
+        }
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            structure.append(' ').append(attribute.getKey()).append("=\"")
+                    .append(attribute.getValue()).append('"');
+        }
+        structure.append('>');
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child instanceof Element) {
+                Element childElement = (Element) child;
+                // logback 的 <level value="..."/> 子元素
+                if (logger && "level".equalsIgnoreCase(childElement.getTagName())) {
+                    level = childElement.getAttribute("value");
+                    continue;
+                }
+                collect(childElement, childConditional, levels, structure);
+            } else if (child.getNodeType() == Node.TEXT_NODE
+                    || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+                structure.append(child.getNodeValue().trim());
+            }
+        }
+        structure.append("</").append(element.getTagName()).append('>');
+        if (logger) {
+            String name = tagName.endsWith("root")
+                    ? LoggingSystem.ROOT_LOGGER_NAME : element.getAttribute("name");
+            // 日志记录器的增删视为结构变化
+            structure.append("[logger:").append(name).append(']');
+            levels.put(name, level == null || level.isEmpty() ? null : level.trim());
+        }
+    }
+
+    private static LogLevel toLogLevel(String level) {
+        String value = level.toUpperCase(Locale.ROOT);
+        if ("ALL".equals(value)) {
+            return LogLevel.TRACE;
+        }
+        // logback 的 INHERITED / NULL 以及占位符等无法直接设置
+        for (LogLevel logLevel : LogLevel.values()) {
+            if (logLevel.name().equals(value)) {
+                return logLevel;
+            }
+        }
+        return null;
+    }
+}
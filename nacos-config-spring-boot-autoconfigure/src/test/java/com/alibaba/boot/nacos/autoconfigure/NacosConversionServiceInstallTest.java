@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.autoconfigure;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.boot.nacos.config.autoconfigure.NacosConfigAutoConfiguration;
+import com.alibaba.boot.nacos.config.binder.NacosBootValueAnnotationBeanPostProcessor;
+import com.alibaba.boot.nacos.config.util.converter.NacosConversionCache;
+import com.alibaba.boot.nacos.config.util.converter.NacosStringToBooleanConverter;
+import com.alibaba.boot.nacos.config.util.converter.NacosStringToEnumConverterFactory;
+import com.alibaba.boot.nacos.config.util.converter.NacosValueConversionService;
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.config.ConfigType;
+import com.alibaba.nacos.api.config.annotation.NacosValue;
+import com.alibaba.nacos.spring.context.annotation.config.NacosValueAnnotationBeanPostProcessor;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigReceivedEvent;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Installing the Nacos converters in a Spring Boot application
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConversionServiceInstallTest {
+
+    private final Map<String, Object> source = new HashMap<>();
+
+    private ConfigurableApplicationContext context;
+
+    @Before
+    public void setup() {
+        source.put("nacos.test.enabled", "on");
+        source.put("nacos.test.unit", "seconds");
+        SpringApplication application = new SpringApplication(NacosConfigAutoConfiguration.class,
+                ValueConfiguration.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.addInitializers(context -> context.getEnvironment().getPropertySources()
+                .addFirst(new MapPropertySource("nacos-test", source)));
+        context = application.run("--nacos.config.server-addr=localhost");
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    @Test
+    public void registeredForNacosValueOnly() {
+        ConversionService conversionService = context.getBeanFactory().getConversionService();
+        Assert.assertFalse(conversionService.toString()
+                .contains(NacosStringToBooleanConverter.class.getName()));
+        Assert.assertFalse(conversionService.toString()
+                .contains(NacosStringToEnumConverterFactory.class.getName()));
+        ConversionService nacosValueConversionService = postProcessor().getConversionService();
+        Assert.assertTrue(nacosValueConversionService.toString()
+                .contains(NacosStringToBooleanConverter.class.getName()));
+        Assert.assertTrue(nacosValueConversionService.toString()
+                .contains(NacosStringToEnumConverterFactory.class.getName()));
+        // any other conversion is left to the conversion service of the application
+        Assert.assertEquals(Duration.ofSeconds(10), nacosValueConversionService.convert("10s", Duration.class));
+    }
+
+    @Test
+    public void refreshNacosValue() {
+        Holder holder = context.getBean(Holder.class);
+        Assert.assertTrue(holder.enabled);
+        Assert.assertEquals(TimeUnit.SECONDS, holder.unit);
+        NacosConversionCache cache = postProcessor().getConversionService().getConversionCache();
+        long missCount = cache.getMissCount();
+        source.put("nacos.test.enabled", " No ");
+        source.put("nacos.test.unit", "Minutes");
+        context.publishEvent(new NacosConfigReceivedEvent(Mockito.mock(ConfigService.class),
+                "test", "DEFAULT_GROUP", "", ConfigType.PROPERTIES.getType()));
+        Assert.assertFalse(holder.enabled);
+        Assert.assertEquals(TimeUnit.MINUTES, holder.unit);
+        // the refreshed enum went through the conversion cache, the boolean did not
+        Assert.assertEquals(missCount + 1, cache.getMissCount());
+    }
+
+    @Test
+    public void cacheThroughNacosValueConversionService() {
+        NacosValueConversionService conversionService = postProcessor().getConversionService();
+        NacosConversionCache cache = conversionService.getConversionCache();
+        long hitCount = cache.getHitCount();
+        Assert.assertEquals(TimeUnit.HOURS, conversionService.convert("hours", TimeUnit.class));
+        Assert.assertEquals(TimeUnit.HOURS, conversionService.convert("hours", TimeUnit.class));
+        Assert.assertEquals(hitCount + 1, cache.getHitCount());
+    }
+
+    private NacosBootValueAnnotationBeanPostProcessor postProcessor() {
+        return context.getBean(NacosValueAnnotationBeanPostProcessor.BEAN_NAME,
+                NacosBootValueAnnotationBeanPostProcessor.class);
+    }
+
+    @Configuration
+    static class ValueConfiguration {
+
+        @Bean
+        public Holder holder() {
+            return new Holder();
+        }
+    }
+
+    static class Holder {
+
+        @NacosValue(value = "${nacos.test.enabled}", autoRefreshed = true)
+        private boolean enabled;
+
+        @NacosValue(value = "${nacos.test.unit}", autoRefreshed = true)
+        private TimeUnit unit;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.binder;
+
+import java.lang.reflect.Method;
+
+import com.alibaba.boot.nacos.config.autoconfigure.NacosConfigAutoConfiguration;
+import com.alibaba.boot.nacos.config.binder.NacosBootConfigurationPropertiesBinder;
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.config.annotation.NacosConfigurationProperties;
+import com.alibaba.nacos.client.utils.LogUtils;
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+import com.alibaba.nacos.spring.util.ObjectUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Per-refresh cost of {@link NacosBootConfigurationPropertiesBinder}: the previous bind
+ * path (factory method lookup, type resolution and a shared environment on every refresh)
+ * against the cached bind plan. Not part of the default test run, run it with
+ * {@code mvn test -Dtest=NacosBootConfigurationPropertiesBinderBenchmark}.
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@TestPropertySource(properties = { "nacos.config.server-addr=localhost" })
+@SpringBootTest(classes = { NacosConfigAutoConfiguration.class })
+public class NacosBootConfigurationPropertiesBinderBenchmark {
+
+    private static final Logger LOGGER = LogUtils.logger(NacosBootConfigurationPropertiesBinderBenchmark.class);
+
+    private static final int WARMUP = 2000;
+
+    private static final int ITERATIONS = 20000;
+
+    private static final String BEAN_NAME = "nacosBootConfigurationPropertiesBinder";
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    public void refreshCost() {
+        BenchmarkBinder binder = new BenchmarkBinder(context);
+        NacosConfigurationProperties properties = BenchmarkBean.class.getAnnotation(NacosConfigurationProperties.class);
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        BenchmarkBean bean = new BenchmarkBean();
+        // alternate the content, an unchanged content is not bound again
+        String[] contents = {"benchmark.name=nacos\nbenchmark.timeout=3000",
+                "benchmark.name=nacos\nbenchmark.timeout=5000"};
+
+        for (int i = 0; i < WARMUP; i++) {
+            binder.legacyBind(bean, properties, contents[i % 2], configService);
+            binder.bind(bean, properties, contents[i % 2], configService);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            binder.legacyBind(bean, properties, contents[i % 2], configService);
+        }
+        long legacy = (System.nanoTime() - start) / ITERATIONS;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            binder.bind(bean, properties, contents[i % 2], configService);
+        }
+        long planned = (System.nanoTime() - start) / ITERATIONS;
+        LOGGER.info("bind per refresh, previous : {} ns/op, cached bind plan : {} ns/op", legacy, planned);
+        Assert.assertEquals("nacos", bean.getName());
+        Assert.assertEquals(5000, bean.getTimeout());
+    }
+
+    private static class BenchmarkBinder extends NacosBootConfigurationPropertiesBinder {
+
+        private final StandardEnvironment environment = new StandardEnvironment();
+
+        BenchmarkBinder(ConfigurableApplicationContext applicationContext) {
+            super(applicationContext);
+        }
+
+        void bind(Object bean, NacosConfigurationProperties properties, String content,
+                  ConfigService configService) {
+            doBind(bean, BEAN_NAME, "benchmark", "DEFAULT_GROUP", "properties", properties, content,
+                    configService);
+        }
+
+        /**
+         * The bind path before the bind plan was cached
+         */
+        void legacyBind(Object bean, NacosConfigurationProperties properties, String content,
+                        ConfigService configService) {
+            synchronized (this) {
+                String name = "nacos-bootstrap-" + BEAN_NAME;
+                NacosPropertySource propertySource = new NacosPropertySource("benchmark", "DEFAULT_GROUP", name,
+                        content, "properties");
+                environment.getPropertySources().addLast(propertySource);
+                ObjectUtils.cleanMapOrCollectionField(bean);
+                Binder binder = Binder.get(environment);
+                Method factoryMethod = findFactoryMethod(BEAN_NAME);
+                ResolvableType type = factoryMethod != null ? ResolvableType.forMethodReturnType(factoryMethod)
+                        : ResolvableType.forClass(bean.getClass());
+                Bindable<?> target = Bindable.of(type).withExistingValue(bean);
+                binder.bind(properties.prefix(), target);
+                publishBoundEvent(bean, BEAN_NAME, "benchmark", "DEFAULT_GROUP", properties, content,
+                        configService);
+                publishMetadataEvent(bean, BEAN_NAME, "benchmark", "DEFAULT_GROUP", properties);
+                environment.getPropertySources().remove(name);
+            }
+        }
+    }
+
+    @NacosConfigurationProperties(prefix = "benchmark", dataId = "benchmark")
+    public static class BenchmarkBean {
+
+        private String name;
+
+        private int timeout;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(int timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
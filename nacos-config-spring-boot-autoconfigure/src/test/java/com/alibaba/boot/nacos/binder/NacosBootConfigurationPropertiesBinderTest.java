@@ -20,9 +20,13 @@ package com.alibaba.boot.nacos.binder;
 import com.alibaba.boot.nacos.config.autoconfigure.NacosConfigAutoConfiguration;
 import com.alibaba.boot.nacos.config.binder.NacosBootConfigurationPropertiesBinder;
 import com.alibaba.boot.nacos.config.logging.NacosLoggingListener;
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.config.annotation.NacosConfigurationProperties;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.aop.target.HotSwappableTargetSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -30,6 +34,13 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * {@link NacosBootConfigurationPropertiesBinder} Test
@@ -53,4 +64,179 @@ public class NacosBootConfigurationPropertiesBinderTest {
         Method beanName = binder.findFactoryMethod("nacosBootConfigurationPropertiesBinder");
         Assert.assertNull(beanName);
     }
+
+    @Test
+    public void bindConcurrently() throws Exception {
+        ExposedBinder exposedBinder = new ExposedBinder(context);
+        NacosConfigurationProperties properties = BinderTestBean.class.getAnnotation(NacosConfigurationProperties.class);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<BinderTestBean> beans = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final BinderTestBean bean = new BinderTestBean();
+            final String value = "value-" + i;
+            beans.add(bean);
+            futures.add(executor.submit(() -> exposedBinder.bind(bean, "binderTestBean" + value, properties,
+                    "binder.name=" + value + "\nbinder.home=${user.home}")));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        for (int i = 0; i < beans.size(); i++) {
+            Assert.assertEquals("value-" + i, beans.get(i).getName());
+            Assert.assertEquals(System.getProperty("user.home"), beans.get(i).getHome());
+        }
+    }
+
+    @Test
+    public void bindIntoCopy() {
+        ExposedBinder exposedBinder = new ExposedBinder(context);
+        NacosConfigurationProperties properties = BinderTestBean.class.getAnnotation(NacosConfigurationProperties.class);
+        BinderTestBean bean = new BinderTestBean();
+        exposedBinder.bind(bean, "copyBean", properties, "binder.name=first");
+        HotSwappableTargetSource targetSource = exposedBinder.getTargetSource(bean);
+
+        exposedBinder.bind(bean, "copyBean", properties, "binder.name=second");
+        BinderTestBean current = (BinderTestBean) targetSource.getTarget();
+        Assert.assertNotSame(bean, current);
+        Assert.assertEquals("second", current.getName());
+        Assert.assertEquals("first", bean.getName());
+    }
+
+    @Test
+    public void bindIntoCopyOfEachInstance() {
+        ExposedBinder exposedBinder = new ExposedBinder(context);
+        NacosConfigurationProperties properties = ConstructedTestBean.class.getAnnotation(NacosConfigurationProperties.class);
+        ConstructedTestBean first = new ConstructedTestBean("injected-1");
+        ConstructedTestBean second = new ConstructedTestBean("injected-2");
+        exposedBinder.bind(first, "constructedBean", properties, "binder.name=a\nbinder.tags=x,y");
+        exposedBinder.bind(second, "constructedBean", properties, "binder.name=a\nbinder.tags=x,y");
+        first.init();
+        HotSwappableTargetSource firstSource = exposedBinder.getTargetSource(first);
+        HotSwappableTargetSource secondSource = exposedBinder.getTargetSource(second);
+        Assert.assertNotSame(firstSource, secondSource);
+
+        exposedBinder.bind(first, "constructedBean", properties, "binder.name=b\nbinder.tags=z");
+        ConstructedTestBean current = (ConstructedTestBean) firstSource.getTarget();
+        Assert.assertNotSame(first, current);
+        Assert.assertEquals("b", current.getName());
+        Assert.assertEquals("injected-1", current.getInjected());
+        Assert.assertTrue(current.isInitialized());
+        Assert.assertEquals(Collections.singletonList("z"), current.getTags());
+        Assert.assertEquals(Arrays.asList("x", "y"), first.getTags());
+        Assert.assertSame(second, secondSource.getTarget());
+    }
+
+    @Test
+    public void skipBindWhenPrefixUnchanged() {
+        ExposedBinder exposedBinder = new ExposedBinder(context);
+        NacosConfigurationProperties properties = BinderTestBean.class.getAnnotation(NacosConfigurationProperties.class);
+        BinderTestBean bean = new BinderTestBean();
+        exposedBinder.bind(bean, "prefixBean", properties, "binder.name=a\nother.key=1");
+        exposedBinder.bind(bean, "prefixBean", properties, "binder.name=a\nother.key=2");
+        Assert.assertEquals(1, exposedBinder.getSkippedBindCount());
+
+        bean.setName("changed-by-application");
+        exposedBinder.bind(bean, "prefixBean", properties, "binder.name=b\nother.key=2");
+        Assert.assertEquals(1, exposedBinder.getSkippedBindCount());
+        Assert.assertEquals("b", bean.getName());
+    }
+
+    @Test
+    public void bindEveryInstanceOfOneName() {
+        ExposedBinder exposedBinder = new ExposedBinder(context);
+        NacosConfigurationProperties properties = BinderTestBean.class.getAnnotation(NacosConfigurationProperties.class);
+        // e.g. prototype beans, or a bean re-created by the refresh scope
+        BinderTestBean first = new BinderTestBean();
+        BinderTestBean second = new BinderTestBean();
+        exposedBinder.bind(first, "prototypeBean", properties, "binder.name=same");
+        exposedBinder.bind(second, "prototypeBean", properties, "binder.name=same");
+        Assert.assertEquals("same", first.getName());
+        Assert.assertEquals("same", second.getName());
+        Assert.assertEquals(0, exposedBinder.getSkippedBindCount());
+
+        exposedBinder.bind(second, "prototypeBean", properties, "binder.name=same");
+        Assert.assertEquals(1, exposedBinder.getSkippedBindCount());
+    }
+
+    private static class ExposedBinder extends NacosBootConfigurationPropertiesBinder {
+
+        ExposedBinder(ConfigurableApplicationContext applicationContext) {
+            super(applicationContext);
+        }
+
+        void bind(Object bean, String beanName, NacosConfigurationProperties properties, String content) {
+            doBind(bean, beanName, "binder", "DEFAULT_GROUP", "properties", properties, content,
+                    Mockito.mock(ConfigService.class));
+        }
+    }
+
+    @NacosConfigurationProperties(prefix = "binder", dataId = "binder")
+    public static class ConstructedTestBean {
+
+        private final String injected;
+
+        private boolean initialized;
+
+        private String name;
+
+        private List<String> tags = new ArrayList<>();
+
+        public ConstructedTestBean(String injected) {
+            this.injected = injected;
+        }
+
+        void init() {
+            this.initialized = true;
+        }
+
+        public String getInjected() {
+            return injected;
+        }
+
+        public boolean isInitialized() {
+            return initialized;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    @NacosConfigurationProperties(prefix = "binder", dataId = "binder")
+    public static class BinderTestBean {
+
+        private String name;
+
+        private String home;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getHome() {
+            return home;
+        }
+
+        public void setHome(String home) {
+            this.home = home;
+        }
+    }
 }
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.binder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.boot.nacos.config.binder.NacosConfigurationPropertiesRebinder;
+import com.alibaba.boot.nacos.config.event.NacosConfigDiffEvent;
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.config.ConfigType;
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.MutablePropertySources;
+
+/**
+ * {@link NacosConfigurationPropertiesRebinder} Test
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigurationPropertiesRebinderTest {
+
+    private static final String SOURCE_NAME = "rebinder-source";
+
+    private final ConfigService configService = Mockito.mock(ConfigService.class);
+
+    private AnnotationConfigApplicationContext context;
+
+    private NacosPropertySource propertySource;
+
+    @Before
+    public void setup() {
+        context = new AnnotationConfigApplicationContext();
+        propertySource = newPropertySource("rebinder.name=nacos\nrebinder.timeout=3000\nother.name=x");
+        context.getEnvironment().getPropertySources().addFirst(propertySource);
+        context.register(RebinderConfiguration.class);
+        context.registerBean(NacosConfigurationPropertiesRebinder.BEAN_NAME,
+                NacosConfigurationPropertiesRebinder.class, () -> new NacosConfigurationPropertiesRebinder(context));
+        context.refresh();
+    }
+
+    @After
+    public void close() {
+        context.close();
+    }
+
+    @Test
+    public void rebindChangedPrefix() {
+        RebinderProperties properties = context.getBean(RebinderProperties.class);
+        Assert.assertEquals(3000, properties.getTimeout());
+
+        refresh("rebinder.name=nacos\nrebinder.timeout=5000\nother.name=x");
+        Assert.assertEquals(5000, properties.getTimeout());
+        Assert.assertEquals("nacos", properties.getName());
+        Assert.assertEquals(1, context.getBean(NacosConfigurationPropertiesRebinder.class).getRebindCount());
+    }
+
+    @Test
+    public void skipUnrelatedPrefix() {
+        refresh("rebinder.name=nacos\nrebinder.timeout=3000\nother.name=y");
+        Assert.assertEquals(0, context.getBean(NacosConfigurationPropertiesRebinder.class).getRebindCount());
+    }
+
+    @Test
+    public void skipBeansNotYetCreated() {
+        Assert.assertFalse(context.getBeanFactory().containsSingleton("lazyProperties"));
+        Assert.assertEquals(0, PrototypeProperties.INSTANCES.get());
+
+        refresh("rebinder.name=nacos\nrebinder.timeout=5000\nother.name=x");
+        Assert.assertFalse(context.getBeanFactory().containsSingleton("lazyProperties"));
+        Assert.assertEquals(0, PrototypeProperties.INSTANCES.get());
+        Assert.assertEquals(1, context.getBean(NacosConfigurationPropertiesRebinder.class).getRebindCount());
+        // a lazy bean created later binds the current environment
+        Assert.assertEquals(5000, context.getBean("lazyProperties", LazyProperties.class).getTimeout());
+    }
+
+    private void refresh(String content) {
+        NacosPropertySource newPropertySource = newPropertySource(content);
+        MutablePropertySources propertySources = context.getEnvironment().getPropertySources();
+        propertySources.replace(SOURCE_NAME, newPropertySource);
+        context.publishEvent(NacosConfigDiffEvent.between(configService, "rebinder", "DEFAULT_GROUP",
+                propertySource.getSource(), newPropertySource.getSource()));
+        propertySource = newPropertySource;
+    }
+
+    private static NacosPropertySource newPropertySource(String content) {
+        return new NacosPropertySource("rebinder", "DEFAULT_GROUP", SOURCE_NAME, content,
+                ConfigType.PROPERTIES.getType());
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(RebinderProperties.class)
+    static class RebinderConfiguration {
+
+        @Bean
+        @Lazy
+        @ConfigurationProperties(prefix = "rebinder")
+        public LazyProperties lazyProperties() {
+            return new LazyProperties();
+        }
+
+        @Bean
+        @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+        public PrototypeProperties prototypeProperties() {
+            return new PrototypeProperties();
+        }
+    }
+
+    public static class LazyProperties {
+
+        private int timeout;
+
+        public int getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(int timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    @ConfigurationProperties(prefix = "rebinder")
+    public static class PrototypeProperties extends LazyProperties {
+
+        private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        public PrototypeProperties() {
+            INSTANCES.incrementAndGet();
+        }
+    }
+
+    @ConfigurationProperties(prefix = "rebinder")
+    public static class RebinderProperties {
+
+        private String name;
+
+        private int timeout;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(int timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.binder;
+
+import java.util.List;
+
+import com.alibaba.boot.nacos.config.binder.NacosConfigurationPropertySource;
+import com.alibaba.nacos.api.config.ConfigType;
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * {@link NacosConfigurationPropertySource} Test
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigurationPropertySourceTest {
+
+    private final NacosPropertySource propertySource = new NacosPropertySource("adapter", "DEFAULT_GROUP",
+            "adapter-source", "server.max-threads=8\nserver.hosts[0]=a\nserver.hosts[1]=b",
+            ConfigType.PROPERTIES.getType());
+
+    @Test
+    public void lookupByName() {
+        NacosConfigurationPropertySource source = NacosConfigurationPropertySource.from(propertySource);
+        Assert.assertEquals("8", source.getConfigurationProperty(
+                ConfigurationPropertyName.of("server.max-threads")).getValue());
+        Assert.assertEquals("a", source.getConfigurationProperty(
+                ConfigurationPropertyName.of("server.hosts[0]")).getValue());
+        Assert.assertNull(source.getConfigurationProperty(ConfigurationPropertyName.of("server.port")));
+        Assert.assertEquals(3, source.stream().count());
+    }
+
+    @Test
+    public void containsDescendantOf() {
+        NacosConfigurationPropertySource source = NacosConfigurationPropertySource.from(propertySource);
+        Assert.assertEquals(ConfigurationPropertyState.PRESENT,
+                source.containsDescendantOf(ConfigurationPropertyName.of("server")));
+        Assert.assertEquals(ConfigurationPropertyState.PRESENT,
+                source.containsDescendantOf(ConfigurationPropertyName.of("server.hosts")));
+        Assert.assertEquals(ConfigurationPropertyState.ABSENT,
+                source.containsDescendantOf(ConfigurationPropertyName.of("server.max-threads")));
+        Assert.assertEquals(ConfigurationPropertyState.ABSENT,
+                source.containsDescendantOf(ConfigurationPropertyName.of("client")));
+    }
+
+    @Test
+    public void cachedPerPropertySource() {
+        NacosConfigurationPropertySource source = NacosConfigurationPropertySource.from(propertySource);
+        Assert.assertSame(source, NacosConfigurationPropertySource.from(propertySource));
+        NacosPropertySource refreshed = new NacosPropertySource("adapter", "DEFAULT_GROUP", "adapter-source",
+                "server.max-threads=16", ConfigType.PROPERTIES.getType());
+        Assert.assertNotSame(source, NacosConfigurationPropertySource.from(refreshed));
+    }
+
+    @Test
+    public void bindFromEnvironment() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(propertySource);
+        List<String> hosts = NacosConfigurationPropertySource.getBinder(environment)
+                .bind("server.hosts", Bindable.listOf(String.class)).get();
+        Assert.assertEquals(2, hosts.size());
+        Assert.assertEquals("b", hosts.get(1));
+    }
+}
@@ -17,22 +17,28 @@
 package com.alibaba.boot.nacos.config.support;
 
 import com.alibaba.boot.nacos.config.autoconfigure.NacosConfigAutoConfiguration;
+import com.alibaba.boot.nacos.config.util.NacosConfigParseCache;
 import com.alibaba.nacos.spring.util.ConfigParseUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.core.env.Environment;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.StandardEnvironment;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.util.Map;
+
 /**
  * {@link MultiProfilesYamlConfigParseSupport} Test
  *
  * @author <a href="mailto:yanglu_u@126.com">dbses</a>
  */
+@RunWith(Enclosed.class)
 public class MultiProfilesYamlConfigParseSupportTest {
 
     @RunWith(SpringJUnit4ClassRunner.class)
@@ -41,14 +47,7 @@ public class MultiProfilesYamlConfigParseSupportTest {
     public static class OneProfiles {
 
         @Autowired
-        private Environment environment;
-
-        @Before
-        public void setUp() {
-            // because MultiProfilesYamlConfigParseSupport # postProcessEnvironment() run once,
-            // so it should set profilesArray before test
-            MultiProfilesYamlConfigParseSupport.setProfileArray(environment.getActiveProfiles());
-        }
+        private ConfigurableEnvironment environment;
 
         @Test
         public void oneProfiles_normal() {
@@ -67,7 +66,8 @@ public class MultiProfilesYamlConfigParseSupportTest {
                              "test1:\n" +
                              "  config: beta";
             Assert.assertEquals(environment.getActiveProfiles()[0], "alpha");
-            Object result = ConfigParseUtils.toProperties("test.yaml", "test", content, "yaml")
+            Object result = MultiProfilesYamlConfigParseSupport.parseWith(environment,
+                    () -> ConfigParseUtils.toProperties("test.yaml", "test", content, "yaml"))
                     .get("test1.config");
             Assert.assertEquals("alpha", result);
         }
@@ -84,7 +84,8 @@ public class MultiProfilesYamlConfigParseSupportTest {
                              "---\n" +
                              "test1:\n" +
                              "  config: beta";
-            Object result = ConfigParseUtils.toProperties("test.yaml", "test", content, "yaml")
+            Object result = MultiProfilesYamlConfigParseSupport.parseWith(environment,
+                    () -> ConfigParseUtils.toProperties("test.yaml", "test", content, "yaml"))
                     .get("test1.config");
             Assert.assertEquals("beta", result);
         }
@@ -96,12 +97,7 @@ public class MultiProfilesYamlConfigParseSupportTest {
     public static class TwoProfiles {
 
         @Autowired
-        private Environment environment;
-
-        @Before
-        public void setUp() {
-            MultiProfilesYamlConfigParseSupport.setProfileArray(environment.getActiveProfiles());
-        }
+        private ConfigurableEnvironment environment;
 
         @Test
         public void twoProfiles_normal() {
@@ -121,7 +117,8 @@ public class MultiProfilesYamlConfigParseSupportTest {
                              "  config: beta";
             Assert.assertEquals(environment.getActiveProfiles()[0], "alpha");
             Assert.assertEquals(environment.getActiveProfiles()[1], "beta");
-            Object result = ConfigParseUtils.toProperties("test.yaml", "test", content, "yaml")
+            Object result = MultiProfilesYamlConfigParseSupport.parseWith(environment,
+                    () -> ConfigParseUtils.toProperties("test.yaml", "test", content, "yaml"))
                     .get("test1.config");
             Assert.assertEquals("beta", result);
         }
@@ -133,7 +130,7 @@ public class MultiProfilesYamlConfigParseSupportTest {
     public static class NoProfiles {
 
         @Autowired
-        private Environment environment;
+        private ConfigurableEnvironment environment;
 
         @Test
         public void noProfiles_normal() {
@@ -152,11 +149,140 @@ public class MultiProfilesYamlConfigParseSupportTest {
                              "test1:\n" +
                              "  config: beta";
             Assert.assertEquals(environment.getActiveProfiles().length, 0);
-            Object result = ConfigParseUtils.toProperties("test.yaml", "test", content, "yaml")
+            Object result = MultiProfilesYamlConfigParseSupport.parseWith(environment,
+                    () -> ConfigParseUtils.toProperties("test.yaml", "test", content, "yaml"))
                     .get("test1.config");
             Assert.assertEquals("default", result);
         }
 
     }
 
+    public static class ProfileExpressions {
+
+        private final StandardEnvironment environment = new StandardEnvironment();
+
+        @Before
+        public void setUp() {
+            environment.setActiveProfiles("prod");
+        }
+
+        @Test
+        public void activateOnProfile() {
+            String content = "test1:\n" +
+                             "  config: 2\n" +
+                             "---\n" +
+                             "spring:\n" +
+                             "  config:\n" +
+                             "    activate:\n" +
+                             "      on-profile: prod\n" +
+                             "test1:\n" +
+                             "  config: prod\n" +
+                             "---\n" +
+                             "spring.config.activate.on-profile: beta\n" +
+                             "test1:\n" +
+                             "  config: beta";
+            Map<String, Object> result = parse(content);
+            Assert.assertEquals("prod", result.get("test1.config"));
+        }
+
+        @Test
+        public void profileExpression() {
+            String content = "test1:\n" +
+                             "  hosts:\n" +
+                             "    - a\n" +
+                             "    - b\n" +
+                             "---\n" +
+                             "spring:\n" +
+                             "  profiles: prod & !canary\n" +
+                             "test1:\n" +
+                             "  config: stable\n" +
+                             "---\n" +
+                             "spring:\n" +
+                             "  profiles: prod & canary\n" +
+                             "test1:\n" +
+                             "  config: canary";
+            Map<String, Object> result = parse(content);
+            Assert.assertEquals("stable", result.get("test1.config"));
+            Assert.assertEquals("b", result.get("test1.hosts[1]"));
+        }
+
+        @Test
+        public void skipInactiveFirstDocument() {
+            String content = "spring:\n" +
+                             "  profiles: beta\n" +
+                             "test1:\n" +
+                             "  config: beta\n" +
+                             "---\n" +
+                             "test2:\n" +
+                             "  config: 2";
+            Map<String, Object> result = parse(content);
+            Assert.assertNull(result.get("test1.config"));
+            Assert.assertEquals(2, result.get("test2.config"));
+        }
+
+        private Map<String, Object> parse(String content) {
+            return MultiProfilesYamlConfigParseSupport.parseWith(environment,
+                    () -> new MultiProfilesYamlConfigParseSupport().parse(content));
+        }
+    }
+
+    public static class PerEnvironment {
+
+        private final String content = "test1:\n" +
+                                       "  config: 2\n" +
+                                       "---\n" +
+                                       "spring.profiles: alpha\n" +
+                                       "test1:\n" +
+                                       "  config: alpha\n" +
+                                       "---\n" +
+                                       "spring.profiles: beta\n" +
+                                       "test1:\n" +
+                                       "  config: beta";
+
+        @Test
+        public void parseWithEnvironmentProfiles() {
+            StandardEnvironment alpha = new StandardEnvironment();
+            alpha.setActiveProfiles("alpha");
+            StandardEnvironment beta = new StandardEnvironment();
+            beta.setActiveProfiles("beta");
+            Assert.assertEquals("alpha", parse(alpha).get("test1.config"));
+            Assert.assertEquals("beta", parse(beta).get("test1.config"));
+            // profiles changed after the first parse
+            alpha.setActiveProfiles("beta");
+            Assert.assertEquals("beta", parse(alpha).get("test1.config"));
+        }
+
+        @Test
+        public void shareParsedContentBetweenEnvironments() {
+            StandardEnvironment first = new StandardEnvironment();
+            first.setActiveProfiles("alpha");
+            StandardEnvironment second = new StandardEnvironment();
+            second.setActiveProfiles("alpha");
+            Map<String, Object> parsed = parse(first);
+            Assert.assertEquals("alpha", parsed.get("test1.config"));
+            long hitCount = NacosConfigParseCache.getSingleton().getHitCount();
+            Assert.assertEquals(parsed, parse(second));
+            Assert.assertEquals(hitCount + 1, NacosConfigParseCache.getSingleton().getHitCount());
+        }
+
+        @Test
+        public void fallBackToDefaultProfileWhenEnvironmentUnknown() {
+            StandardEnvironment alpha = new StandardEnvironment();
+            alpha.setActiveProfiles("alpha");
+            StandardEnvironment beta = new StandardEnvironment();
+            beta.setActiveProfiles("beta");
+            MultiProfilesYamlConfigParseSupport support = new MultiProfilesYamlConfigParseSupport();
+            support.postProcessEnvironment(alpha, null);
+            support.postProcessEnvironment(beta, null);
+            // no environment bound and the processed ones disagree: no last-wins profile
+            String content = this.content + "\n---\nspring.profiles: default\ntest1:\n  config: default";
+            Assert.assertEquals("default", support.parse(content).get("test1.config"));
+        }
+
+        private Map<String, Object> parse(StandardEnvironment environment) {
+            return MultiProfilesYamlConfigParseSupport.parseWith(environment,
+                    () -> new MultiProfilesYamlConfigParseSupport().parse(content));
+        }
+    }
+
 }
\ No newline at end of file
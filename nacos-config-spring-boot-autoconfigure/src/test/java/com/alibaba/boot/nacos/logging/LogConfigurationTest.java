@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.logging;
+
+import java.util.Map;
+
+import com.alibaba.boot.nacos.config.util.log.LogConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.springframework.boot.logging.LogLevel;
+
+/**
+ * {@link LogConfiguration} Test
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class LogConfigurationTest {
+
+    private static final String LOGBACK = "<configuration>"
+            + "<appender name=\"CONSOLE\" class=\"ch.qos.logback.core.ConsoleAppender\">"
+            + "<encoder><pattern>%%msg%%n</pattern></encoder></appender>"
+            + "<logger name=\"com.alibaba\" level=\"%s\"/>"
+            + "<logger name=\"org.springframework\"><level value=\"%s\"/></logger>"
+            + "<root level=\"INFO\"><appender-ref ref=\"CONSOLE\"/></root>"
+            + "</configuration>";
+
+    @Test
+    public void levelOnlyChange() {
+        LogConfiguration previous = LogConfiguration.parse(String.format(LOGBACK, "INFO", "WARN"));
+        LogConfiguration next = LogConfiguration.parse(String.format(LOGBACK, "debug", "WARN"));
+        Map<String, LogLevel> changes = next.levelChanges(previous);
+        Assert.assertEquals(1, changes.size());
+        Assert.assertEquals(LogLevel.DEBUG, changes.get("com.alibaba"));
+        Assert.assertEquals("INFO", next.getLevels().get("ROOT"));
+        Assert.assertTrue(LogConfiguration.parse(String.format(LOGBACK, "debug", "WARN"))
+                .levelChanges(next).isEmpty());
+    }
+
+    @Test
+    public void levelChildElementChange() {
+        LogConfiguration previous = LogConfiguration.parse(String.format(LOGBACK, "INFO", "WARN"));
+        LogConfiguration next = LogConfiguration.parse(String.format(LOGBACK, "INFO", "ERROR"));
+        Assert.assertEquals(LogLevel.ERROR, next.levelChanges(previous).get("org.springframework"));
+    }
+
+    @Test
+    public void appenderChange() {
+        LogConfiguration previous = LogConfiguration.parse(String.format(LOGBACK, "INFO", "WARN"));
+        LogConfiguration next = LogConfiguration.parse(String.format(LOGBACK, "DEBUG", "WARN")
+                .replace("%msg%n", "%level %msg%n"));
+        Assert.assertNull(next.levelChanges(previous));
+    }
+
+    @Test
+    public void log4j2LevelChange() {
+        String log4j2 = "<Configuration><Appenders><Console name=\"Console\"/></Appenders>"
+                + "<Loggers><Logger name=\"com.alibaba\" level=\"%s\"/>"
+                + "<Root level=\"info\"><AppenderRef ref=\"Console\"/></Root></Loggers></Configuration>";
+        LogConfiguration previous = LogConfiguration.parse(String.format(log4j2, "info"));
+        LogConfiguration next = LogConfiguration.parse(String.format(log4j2, "all"));
+        Assert.assertEquals(LogLevel.TRACE, next.levelChanges(previous).get("com.alibaba"));
+    }
+
+    @Test
+    public void conditionalLevelChange() {
+        String logback = "<configuration>"
+                + "<springProfile name=\"dev\"><logger name=\"com.alibaba\" level=\"%s\"/></springProfile>"
+                + "<if condition='property(\"env\").equals(\"dev\")'><then>"
+                + "<logger name=\"org.springframework\" level=\"%s\"/></then></if>"
+                + "<root level=\"INFO\"/>"
+                + "</configuration>";
+        LogConfiguration previous = LogConfiguration.parse(String.format(logback, "INFO", "WARN"));
+        Assert.assertNull(LogConfiguration.parse(String.format(logback, "DEBUG", "WARN"))
+                .levelChanges(previous));
+        Assert.assertNull(LogConfiguration.parse(String.format(logback, "INFO", "ERROR"))
+                .levelChanges(previous));
+        Assert.assertEquals(LogLevel.DEBUG, LogConfiguration.parse(String.format(logback, "INFO", "WARN")
+                .replace("<root level=\"INFO\"/>", "<root level=\"DEBUG\"/>"))
+                .levelChanges(previous).get("ROOT"));
+
+        String log4j2 = "<Configuration><Loggers><SpringProfile name=\"dev\">"
+                + "<Logger name=\"com.alibaba\" level=\"%s\"/></SpringProfile>"
+                + "<Root level=\"info\"/></Loggers></Configuration>";
+        Assert.assertNull(LogConfiguration.parse(String.format(log4j2, "debug"))
+                .levelChanges(LogConfiguration.parse(String.format(log4j2, "info"))));
+    }
+
+    @Test
+    public void unresolvableLevel() {
+        LogConfiguration previous = LogConfiguration.parse(String.format(LOGBACK, "INFO", "WARN"));
+        LogConfiguration next = LogConfiguration.parse(String.format(LOGBACK, "${LEVEL}", "WARN"));
+        Assert.assertNull(next.levelChanges(previous));
+        Assert.assertNull(LogConfiguration.parse("<configuration>"));
+    }
+}
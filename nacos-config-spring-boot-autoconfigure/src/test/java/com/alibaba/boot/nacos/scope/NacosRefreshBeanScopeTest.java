@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.scope;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.boot.nacos.config.event.NacosConfigDiffEvent;
+import com.alibaba.boot.nacos.config.scope.NacosRefreshBeanScope;
+import com.alibaba.boot.nacos.config.scope.NacosRefreshScope;
+import com.alibaba.nacos.api.config.ConfigService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@link NacosRefreshBeanScope} Test
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosRefreshBeanScopeTest {
+
+    private static final AtomicInteger CREATED = new AtomicInteger();
+
+    private static final AtomicInteger DESTROYED = new AtomicInteger();
+
+    private final ConfigService configService = Mockito.mock(ConfigService.class);
+
+    private AnnotationConfigApplicationContext context;
+
+    @Before
+    public void setup() {
+        CREATED.set(0);
+        DESTROYED.set(0);
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(NacosRefreshBeanScope.BEAN_NAME, NacosRefreshBeanScope.class);
+        context.register(ScopeConfiguration.class);
+        context.refresh();
+    }
+
+    @After
+    public void close() {
+        context.close();
+    }
+
+    @Test
+    public void recreateOnNextAccess() {
+        RefreshableClient client = context.getBean(RefreshableClient.class);
+        Assert.assertEquals(1, client.getGeneration());
+        Assert.assertEquals(1, client.getGeneration());
+        Assert.assertEquals(1, CREATED.get());
+
+        publish("client");
+        // only marked stale, re-created lazily
+        Assert.assertEquals(1, CREATED.get());
+        Assert.assertEquals(2, client.getGeneration());
+        Assert.assertEquals(2, client.getGeneration());
+        Assert.assertEquals(1, DESTROYED.get());
+    }
+
+    @Test
+    public void ignoreUnrelatedDataId() {
+        RefreshableClient client = context.getBean(RefreshableClient.class);
+        Assert.assertEquals(1, client.getGeneration());
+        publish("other");
+        Assert.assertEquals(1, client.getGeneration());
+        Assert.assertEquals(0, DESTROYED.get());
+    }
+
+    @Test
+    public void destroyAfterCallsInFlight() throws Exception {
+        final RefreshableClient client = context.getBean(RefreshableClient.class);
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        final AtomicInteger generation = new AtomicInteger();
+        Thread caller = new Thread(() -> generation.set(client.await(entered, proceed)));
+        caller.start();
+        Assert.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        publish("client");
+        Assert.assertEquals(2, client.getGeneration());
+        // the previous instance is still serving the call in flight
+        Assert.assertEquals(0, DESTROYED.get());
+
+        proceed.countDown();
+        caller.join(5000L);
+        Assert.assertEquals(1, generation.get());
+        Assert.assertEquals(1, DESTROYED.get());
+        Assert.assertEquals(2, client.getGeneration());
+        Assert.assertEquals(1, DESTROYED.get());
+    }
+
+    private void publish(String dataId) {
+        context.publishEvent(NacosConfigDiffEvent.between(configService, dataId, "DEFAULT_GROUP",
+                Collections.<String, Object>singletonMap("a", "1"),
+                Collections.<String, Object>singletonMap("a", "2")));
+    }
+
+    @Configuration
+    static class ScopeConfiguration {
+
+        @Bean(destroyMethod = "close")
+        @NacosRefreshScope(dataIds = "client")
+        public RefreshableClient refreshableClient() {
+            return new RefreshableClient(CREATED.incrementAndGet());
+        }
+    }
+
+    public static class RefreshableClient {
+
+        private final int generation;
+
+        public RefreshableClient() {
+            this(0);
+        }
+
+        RefreshableClient(int generation) {
+            this.generation = generation;
+        }
+
+        public int getGeneration() {
+            return generation;
+        }
+
+        public int await(CountDownLatch entered, CountDownLatch proceed) {
+            entered.countDown();
+            try {
+                proceed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return generation;
+        }
+
+        public void close() {
+            DESTROYED.incrementAndGet();
+        }
+    }
+}
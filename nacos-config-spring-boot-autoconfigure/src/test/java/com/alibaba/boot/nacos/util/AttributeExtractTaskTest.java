@@ -19,6 +19,8 @@ package com.alibaba.boot.nacos.util;
 
 import com.alibaba.boot.nacos.config.autoconfigure.NacosConfigAutoConfiguration;
 import com.alibaba.boot.nacos.config.util.AttributeExtractTask;
+import com.alibaba.nacos.api.config.ConfigType;
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -27,11 +29,14 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySources;
+import org.springframework.core.env.StandardEnvironment;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.util.Collections;
 import java.util.Map;
 
 
@@ -62,4 +67,23 @@ public class AttributeExtractTaskTest {
         Map<String, String> map = attributeExtractTask.call();
         Assert.assertEquals(map.size(), 0);
     }
+
+    @Test
+    public void callWithReplacedNacosPropertySource() throws Exception {
+        StandardEnvironment standardEnvironment = new StandardEnvironment();
+        standardEnvironment.getPropertySources().addFirst(new NacosPropertySource("index", "DEFAULT_GROUP",
+                "index-source", "prefix.a=1\nprefix.b=2\nother=3", ConfigType.PROPERTIES.getType()));
+        standardEnvironment.getPropertySources().addLast(new MapPropertySource("mutable",
+                Collections.singletonMap("prefix.a", "0")));
+        Map<String, String> map = new AttributeExtractTask("prefix.", standardEnvironment).call();
+        Assert.assertEquals("1", map.get("prefix.a"));
+        Assert.assertEquals("2", map.get("prefix.b"));
+        Assert.assertFalse(map.containsKey("other"));
+
+        standardEnvironment.getPropertySources().replace("index-source", new NacosPropertySource("index",
+                "DEFAULT_GROUP", "index-source", "prefix.b=3", ConfigType.PROPERTIES.getType()));
+        map = new AttributeExtractTask("prefix.", standardEnvironment).call();
+        Assert.assertEquals("0", map.get("prefix.a"));
+        Assert.assertEquals("3", map.get("prefix.b"));
+    }
 }
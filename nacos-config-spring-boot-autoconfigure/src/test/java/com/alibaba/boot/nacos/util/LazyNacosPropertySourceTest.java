@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.boot.nacos.config.util.LazyNacosPropertySource;
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.config.ConfigType;
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+import com.alibaba.nacos.spring.util.NacosUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * {@link LazyNacosPropertySource} Test
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class LazyNacosPropertySourceTest {
+
+    private StandardEnvironment environment;
+
+    private ConfigService configService;
+
+    private LazyNacosPropertySource lazySource;
+
+    @Before
+    public void setup() throws Exception {
+        environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("unrelated",
+                Collections.singletonMap("unrelated.key", "value")));
+        configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getConfig(Mockito.eq("lazy"), Mockito.eq("DEFAULT_GROUP"),
+                Mockito.anyLong())).thenReturn("lazy.key=value");
+        lazySource = new LazyNacosPropertySource("lazy-source", environment.getPropertySources(),
+                () -> new NacosPropertySource("lazy", "DEFAULT_GROUP", "lazy-source",
+                        NacosUtils.getContent(configService, "lazy", "DEFAULT_GROUP"),
+                        ConfigType.PROPERTIES.getType()));
+        environment.getPropertySources().addFirst(lazySource);
+    }
+
+    @Test
+    public void enumerationDoesNotFetch() throws Exception {
+        Assert.assertEquals(0, lazySource.getPropertyNames().length);
+        Assert.assertFalse(lazySource.isResolved());
+        Mockito.verify(configService, Mockito.never())
+                .getConfig(Mockito.anyString(), Mockito.anyString(), Mockito.anyLong());
+    }
+
+    @Test
+    public void resolveOnLookup() throws Exception {
+        Map<String, String> bound = Binder.get(environment)
+                .bind("lazy", Bindable.mapOf(String.class, String.class)).get();
+        Assert.assertEquals(Collections.singletonMap("key", "value"), bound);
+        Assert.assertTrue(lazySource.isResolved());
+        Assert.assertEquals("value", environment.getProperty("lazy.key"));
+        Mockito.verify(configService, Mockito.times(1))
+                .getConfig(Mockito.anyString(), Mockito.anyString(), Mockito.anyLong());
+    }
+
+    @Test
+    public void shareFetchInFlight() throws Exception {
+        final CountDownLatch fetching = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(configService.getConfig(Mockito.eq("lazy"), Mockito.eq("DEFAULT_GROUP"),
+                Mockito.anyLong())).thenAnswer(invocation -> {
+                    fetching.countDown();
+                    release.await();
+                    return "lazy.key=value";
+                });
+        Thread prefetch = new Thread(lazySource::resolve);
+        prefetch.start();
+        Assert.assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        FutureTask<Object> lookup = new FutureTask<>(() -> lazySource.getProperty("lazy.key"));
+        new Thread(lookup).start();
+        release.countDown();
+        Assert.assertEquals("value", lookup.get(5, TimeUnit.SECONDS));
+        prefetch.join();
+        Mockito.verify(configService, Mockito.times(1))
+                .getConfig(Mockito.anyString(), Mockito.anyString(), Mockito.anyLong());
+    }
+
+    @Test
+    public void replaceOnceResolved() throws Exception {
+        Assert.assertEquals(0, lazySource.getPropertyNames().length);
+        NacosPropertySource resolved = lazySource.resolve();
+        Assert.assertSame(resolved, environment.getPropertySources().get("lazy-source"));
+        Assert.assertEquals("value", environment.getProperty("lazy.key"));
+        Assert.assertEquals("value", lazySource.getProperty("lazy.key"));
+        Assert.assertSame(resolved, lazySource.resolve());
+        Mockito.verify(configService, Mockito.times(1))
+                .getConfig(Mockito.anyString(), Mockito.anyString(), Mockito.anyLong());
+    }
+}
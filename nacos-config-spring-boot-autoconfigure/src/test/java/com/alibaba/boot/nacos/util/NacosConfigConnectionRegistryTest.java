@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.util;
+
+import com.alibaba.boot.nacos.config.util.NacosConfigConnectionRegistry;
+import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.config.ConfigService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Properties;
+
+/**
+ * {@link NacosConfigConnectionRegistry} Test
+ *
+ * @author bert82503
+ */
+public class NacosConfigConnectionRegistryTest {
+    
+    private final NacosConfigConnectionRegistry registry = NacosConfigConnectionRegistry.getSingleton();
+    
+    @Test
+    public void shareSameConnection() {
+        Properties first = properties("connection-share", "3");
+        Properties second = properties("connection-share", "5");
+        Assert.assertSame(first, registry.acquire(first));
+        Assert.assertSame(first, registry.acquire(second));
+        Assert.assertFalse(registry.release(second));
+        Assert.assertTrue(registry.release(first));
+    }
+    
+    @Test
+    public void separateNamespaces() {
+        Properties first = properties("connection-a", "3");
+        Properties second = properties("connection-b", "3");
+        Assert.assertSame(first, registry.acquire(first));
+        Assert.assertSame(second, registry.acquire(second));
+        Assert.assertTrue(registry.release(first));
+        Assert.assertTrue(registry.release(second));
+    }
+    
+    @Test
+    public void shutDownOnLastRelease() throws Exception {
+        Properties first = properties("connection-shutdown", "3");
+        Properties second = properties("connection-shutdown", "5");
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        registry.attach(registry.acquire(first), configService);
+        registry.attach(registry.acquire(second), Mockito.mock(ConfigService.class));
+        Assert.assertFalse(registry.release(first));
+        Mockito.verify(configService, Mockito.never()).shutDown();
+        Assert.assertTrue(registry.release(second));
+        Mockito.verify(configService, Mockito.times(1)).shutDown();
+        // already released, nothing left to shut down
+        Assert.assertFalse(registry.release(second));
+        Mockito.verify(configService, Mockito.times(1)).shutDown();
+    }
+    
+    private static Properties properties(String namespace, String maxRetry) {
+        Properties properties = new Properties();
+        properties.setProperty(PropertyKeyConst.SERVER_ADDR, "localhost");
+        properties.setProperty(PropertyKeyConst.NAMESPACE, namespace);
+        properties.setProperty(PropertyKeyConst.MAX_RETRY, maxRetry);
+        return properties;
+    }
+}
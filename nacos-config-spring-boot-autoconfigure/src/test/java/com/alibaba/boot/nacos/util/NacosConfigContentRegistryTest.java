@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.util;
+
+import com.alibaba.boot.nacos.config.util.NacosConfigContentRegistry;
+import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.config.ConfigService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NacosConfigContentRegistry} Test
+ *
+ * @author bert82503
+ */
+public class NacosConfigContentRegistryTest {
+    
+    private final NacosConfigContentRegistry registry = NacosConfigContentRegistry.getSingleton();
+    
+    @After
+    public void tearDown() {
+        registry.clear();
+    }
+    
+    @Test
+    public void getContentOnce() throws Exception {
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getConfig(Mockito.eq("registry-test"), Mockito.eq("DEFAULT_GROUP"), Mockito.anyLong()))
+                .thenReturn("key=value");
+        Properties properties = new Properties();
+        properties.setProperty(PropertyKeyConst.SERVER_ADDR, "localhost");
+        long avoided = registry.getAvoidedFetchCount();
+        Assert.assertEquals("key=value", registry.getContent(configService, properties, "registry-test", "DEFAULT_GROUP"));
+        Assert.assertEquals("key=value", registry.getContent(configService, properties, "registry-test", "DEFAULT_GROUP"));
+        Mockito.verify(configService, Mockito.times(1))
+                .getConfig(Mockito.eq("registry-test"), Mockito.eq("DEFAULT_GROUP"), Mockito.anyLong());
+        Assert.assertEquals(avoided + 1, registry.getAvoidedFetchCount());
+    }
+    
+    @Test
+    public void getContentAfterClear() throws Exception {
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Properties properties = new Properties();
+        properties.setProperty(PropertyKeyConst.SERVER_ADDR, "localhost");
+        registry.getContent(configService, properties, "registry-clear", "DEFAULT_GROUP");
+        registry.clear();
+        registry.getContent(configService, properties, "registry-clear", "DEFAULT_GROUP");
+        Mockito.verify(configService, Mockito.times(2))
+                .getConfig(Mockito.eq("registry-clear"), Mockito.eq("DEFAULT_GROUP"), Mockito.anyLong());
+    }
+    
+    @Test
+    public void interruptedFetchNotShared() throws Exception {
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getConfig(Mockito.eq("registry-interrupt"), Mockito.eq("DEFAULT_GROUP"), Mockito.anyLong()))
+                .thenAnswer(invocation -> {
+                    // the client swallows the interruption and reports no content
+                    Thread.currentThread().interrupt();
+                    return null;
+                })
+                .thenReturn("key=value");
+        Properties properties = new Properties();
+        properties.setProperty(PropertyKeyConst.SERVER_ADDR, "localhost");
+        Assert.assertNull(registry.getContent(configService, properties, "registry-interrupt", "DEFAULT_GROUP"));
+        Assert.assertTrue(Thread.interrupted());
+        Assert.assertEquals("key=value", registry.getContent(configService, properties, "registry-interrupt", "DEFAULT_GROUP"));
+    }
+    
+    @Test
+    public void boundedSharedWait() throws Exception {
+        NacosConfigContentRegistry boundedRegistry = new NacosConfigContentRegistry(100);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getConfig(Mockito.eq("registry-wait"), Mockito.eq("DEFAULT_GROUP"), Mockito.anyLong()))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "key=stale";
+                })
+                .thenReturn("key=value");
+        Properties properties = new Properties();
+        properties.setProperty(PropertyKeyConst.SERVER_ADDR, "localhost");
+        Thread owner = new Thread(() -> boundedRegistry.getContent(configService, properties, "registry-wait", "DEFAULT_GROUP"));
+        owner.start();
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        try {
+            Assert.assertEquals("key=value", boundedRegistry.getContent(configService, properties, "registry-wait", "DEFAULT_GROUP"));
+        } finally {
+            release.countDown();
+            owner.join();
+        }
+    }
+}
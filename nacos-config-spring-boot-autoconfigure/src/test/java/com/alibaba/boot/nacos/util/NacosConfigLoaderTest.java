@@ -20,27 +20,52 @@ package com.alibaba.boot.nacos.util;
 import com.alibaba.boot.nacos.autoconfigure.NacosConfigEnvironmentProcessorTest;
 import com.alibaba.boot.nacos.config.autoconfigure.NacosConfigAutoConfiguration;
 import com.alibaba.boot.nacos.config.properties.NacosConfigProperties;
+import com.alibaba.boot.nacos.config.util.LazyNacosPropertySource;
+import com.alibaba.boot.nacos.config.util.NacosConfigConnectionRegistry;
+import com.alibaba.boot.nacos.config.util.NacosConfigContentRegistry;
 import com.alibaba.boot.nacos.config.util.NacosConfigLoader;
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.config.ConfigType;
+import com.alibaba.nacos.api.config.listener.Listener;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.client.config.NacosConfigService;
 import com.alibaba.nacos.client.utils.LogUtils;
+import com.alibaba.nacos.spring.context.event.config.EventPublishingConfigService;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigReceivedEvent;
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
 import com.alibaba.nacos.spring.core.env.NacosPropertySourcePostProcessor;
+import com.alibaba.nacos.spring.factory.CacheableEventPublishingNacosServiceFactory;
+import com.alibaba.nacos.spring.util.NacosUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Function;
 
 /**
@@ -114,4 +139,191 @@ public class NacosConfigLoaderTest {
         List<NacosConfigLoader.DeferNacosPropertySource> propertySources = nacosConfigLoader.getNacosPropertySources();
         Assert.assertEquals(propertySources.size(), 0);
     }
+
+    @Test
+    public void loadConfigConcurrently() throws Exception {
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getConfig(Mockito.anyString(), Mockito.anyString(), Mockito.anyLong()))
+                .thenAnswer(invocation -> "key=" + invocation.getArgument(0));
+        NacosConfigProperties properties = new NacosConfigProperties();
+        properties.setServerAddr("localhost");
+        properties.setDataIds("a,b,c,d");
+        properties.getBootstrap().setConcurrency(4);
+        StandardEnvironment standardEnvironment = new StandardEnvironment();
+        NacosConfigLoader loader = new NacosConfigLoader(properties, standardEnvironment, p -> configService);
+        loader.loadConfig();
+        List<String> dataIds = new ArrayList<>();
+        for (PropertySource<?> propertySource : standardEnvironment.getPropertySources()) {
+            if (propertySource instanceof NacosPropertySource) {
+                dataIds.add(((NacosPropertySource) propertySource).getDataId());
+            }
+        }
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), dataIds);
+        Assert.assertEquals("a", standardEnvironment.getProperty("key"));
+        Assert.assertEquals(4, loader.getNacosPropertySources().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void coalesceBurstIntoOneReceivedEvent() throws Exception {
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getConfig(Mockito.anyString(), Mockito.anyString(), Mockito.anyLong()))
+                .thenReturn("key=0");
+        NacosConfigProperties properties = new NacosConfigProperties();
+        properties.setServerAddr("localhost");
+        properties.setNamespace("coalesce-burst");
+        properties.setDataId("coalesce");
+        properties.setAutoRefresh(true);
+        properties.getRefresh().setQuietWindow(200);
+        GenericApplicationContext context = new GenericApplicationContext();
+        List<NacosConfigReceivedEvent> events = new CopyOnWriteArrayList<>();
+        context.addApplicationListener((ApplicationListener<ApplicationEvent>) event -> {
+            if (event instanceof NacosConfigReceivedEvent) {
+                events.add((NacosConfigReceivedEvent) event);
+            }
+        });
+        context.refresh();
+        try {
+            NacosConfigLoader loader = new NacosConfigLoader(properties, context.getEnvironment(), p -> configService);
+            loader.setApplicationEventPublisher(context::publishEvent);
+            loader.loadConfig();
+            // the listener is registered on the event publishing ConfigService of the nacos-spring cache
+            Properties shared = loader.getNacosPropertySources().get(0).getProperties();
+            Map<String, ConfigService> cache = (Map<String, ConfigService>) ReflectionTestUtils.getField(
+                    CacheableEventPublishingNacosServiceFactory.getSingleton(), "configServicesCache");
+            cache.put(NacosUtils.identify(shared),
+                    new EventPublishingConfigService(configService, shared, context, Runnable::run));
+            loader.addListenerIfAutoRefreshed();
+            ArgumentCaptor<Listener> listener = ArgumentCaptor.forClass(Listener.class);
+            Mockito.verify(configService).addListener(Mockito.eq("coalesce"), Mockito.anyString(),
+                    listener.capture());
+
+            for (int i = 1; i <= 3; i++) {
+                listener.getValue().receiveConfigInfo("key=" + i);
+            }
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (events.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            Thread.sleep(300L);
+            Assert.assertEquals("3", context.getEnvironment().getProperty("key"));
+            Assert.assertEquals(1, events.size());
+            Assert.assertEquals("key=3", events.get(0).getContent());
+        } finally {
+            context.close();
+        }
+    }
+
+    @Test
+    public void releaseConnections() throws Exception {
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getConfig(Mockito.anyString(), Mockito.anyString(), Mockito.anyLong()))
+                .thenReturn("key=value");
+        NacosConfigProperties properties = new NacosConfigProperties();
+        properties.setServerAddr("localhost");
+        properties.setNamespace("release-connections");
+        properties.setDataId("release");
+        NacosConfigProperties.Config config = new NacosConfigProperties.Config();
+        config.setDataId("release-ext");
+        config.setType(ConfigType.PROPERTIES);
+        properties.getExtConfig().add(config);
+        NacosConfigLoader loader = new NacosConfigLoader(properties, new StandardEnvironment(), p -> configService);
+        loader.loadConfig();
+        String name = "localhost" + NacosUtils.SEPARATOR + "release-connections";
+        NacosConfigConnectionRegistry registry = NacosConfigConnectionRegistry.getSingleton();
+        Assert.assertEquals(Integer.valueOf(2), registry.getReferenceCounts().get(name));
+        loader.releaseConnections();
+        Assert.assertNull(registry.getReferenceCounts().get(name));
+        Mockito.verify(configService, Mockito.times(1)).shutDown();
+        // releasing twice does not touch the references of other loaders
+        loader.releaseConnections();
+        Assert.assertNull(registry.getReferenceCounts().get(name));
+        Mockito.verify(configService, Mockito.times(1)).shutDown();
+    }
+
+    @Test
+    public void loadConfigWithStartupSteps() throws Exception {
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getConfig(Mockito.anyString(), Mockito.anyString(), Mockito.anyLong()))
+                .thenReturn("key=value");
+        NacosConfigProperties properties = new NacosConfigProperties();
+        properties.setServerAddr("localhost");
+        properties.setDataIds("startup-a,startup-b");
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(16);
+        NacosConfigLoader loader = new NacosConfigLoader(properties, new StandardEnvironment(), p -> configService);
+        loader.setApplicationStartup(applicationStartup);
+        loader.loadConfig();
+        List<String> steps = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : applicationStartup.getBufferedTimeline().getEvents()) {
+            steps.add(event.getStartupStep().getName());
+        }
+        Assert.assertEquals(Arrays.asList("nacos.config.bootstrap.fetch", "nacos.config.bootstrap.fetch",
+                "nacos.config.bootstrap.parse", "nacos.config.bootstrap.parse"), steps);
+    }
+
+    @Test
+    public void loadLazyConfigInBackground() throws Exception {
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getConfig(Mockito.anyString(), Mockito.anyString(), Mockito.anyLong()))
+                .thenAnswer(invocation -> invocation.getArgument(0) + ".key=value");
+        NacosConfigProperties properties = new NacosConfigProperties();
+        properties.setServerAddr("localhost");
+        properties.setDataId("eager");
+        NacosConfigProperties.Config config = new NacosConfigProperties.Config();
+        config.setDataId("lazy");
+        config.setType(ConfigType.PROPERTIES);
+        config.setLazy(true);
+        properties.getExtConfig().add(config);
+        StandardEnvironment standardEnvironment = new StandardEnvironment();
+        NacosConfigLoader loader = new NacosConfigLoader(properties, standardEnvironment, p -> configService);
+        loader.loadConfig();
+        Assert.assertEquals(2, loader.getNacosPropertySources().size());
+        Assert.assertEquals("value", standardEnvironment.getProperty("eager.key"));
+        // the first lookup loads the config, or waits for the background fetch in flight
+        Assert.assertEquals("value", standardEnvironment.getProperty("lazy.key"));
+        Mockito.verify(configService, Mockito.times(1))
+                .getConfig(Mockito.eq("lazy"), Mockito.anyString(), Mockito.anyLong());
+        for (PropertySource<?> propertySource : standardEnvironment.getPropertySources()) {
+            Assert.assertFalse(propertySource instanceof LazyNacosPropertySource);
+        }
+    }
+
+    @Test
+    public void shareFetchAfterBootstrapTimeout() throws Exception {
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getConfig(Mockito.eq("slow"), Mockito.anyString(), Mockito.anyLong()))
+                .thenAnswer(invocation -> {
+                    // a blocking read that outlives the bootstrap timeout
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+                    while (System.nanoTime() < deadline) {
+                        LockSupport.parkNanos(deadline - System.nanoTime());
+                    }
+                    // the client swallows an interruption and reports no content
+                    return Thread.currentThread().isInterrupted() ? null : "key=value";
+                });
+        NacosConfigProperties properties = new NacosConfigProperties();
+        properties.setServerAddr("localhost");
+        properties.setDataId("slow");
+        properties.getBootstrap().setTimeout(100);
+        StandardEnvironment standardEnvironment = new StandardEnvironment();
+        NacosConfigLoader loader = new NacosConfigLoader(properties, standardEnvironment, p -> configService);
+        NacosConfigContentRegistry registry = NacosConfigContentRegistry.getSingleton();
+        long fetchCount = registry.getFetchCount();
+        try {
+            // degraded to the local snapshot or an empty config
+            loader.loadConfig();
+            Assert.assertFalse(loader.getRevalidator().getDegradedPropertySources().isEmpty());
+            // a later bootstrap stage asking for the same data-id waits for the running fetch
+            Assert.assertEquals("key=value", registry.getContent(configService, loader.getGlobalProperties(),
+                    "slow", properties.getGroup()));
+            // the registry fetched once, the revalidation waits for the application context
+            Assert.assertEquals(fetchCount + 1, registry.getFetchCount());
+            Mockito.verify(configService, Mockito.times(1))
+                    .getConfig(Mockito.eq("slow"), Mockito.anyString(), Mockito.anyLong());
+        } finally {
+            loader.releaseConnections();
+            registry.clear();
+        }
+        Assert.assertTrue(loader.getRevalidator().getDegradedPropertySources().isEmpty());
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.alibaba.boot.nacos.config.util.NacosConfigParseCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link NacosConfigParseCache} Test
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigParseCacheTest {
+
+    private final AtomicInteger parseCount = new AtomicInteger();
+
+    private final Function<String, Map<String, Object>> parser = content -> {
+        parseCount.incrementAndGet();
+        return Collections.<String, Object>singletonMap("content", content);
+    };
+
+    @Test
+    public void parseOncePerTypeAndContent() {
+        NacosConfigParseCache cache = new NacosConfigParseCache(16, 1024);
+        Map<String, Object> first = cache.get("properties", "a=1", parser);
+        Assert.assertEquals(first, cache.get("properties", "a=1", parser));
+        cache.get("yaml", "a=1", parser);
+        Assert.assertEquals(2, parseCount.get());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void everyCallerGetsItsOwnCopy() {
+        NacosConfigParseCache cache = new NacosConfigParseCache(16, 1024);
+        Function<String, Map<String, Object>> mutableParser = content -> new HashMap<>(parser.apply(content));
+        Map<String, Object> first = cache.get("properties", "a=1", mutableParser);
+        first.put("b", "2");
+        Map<String, Object> second = cache.get("properties", "a=1", mutableParser);
+        Assert.assertNotSame(first, second);
+        Assert.assertFalse(second.containsKey("b"));
+        second.put("c", "3");
+        Assert.assertEquals(Collections.singletonMap("content", "a=1"),
+                cache.get("properties", "a=1", mutableParser));
+        Assert.assertEquals(1, parseCount.get());
+    }
+
+    @Test
+    public void evictBySize() {
+        NacosConfigParseCache cache = new NacosConfigParseCache(2, 1024);
+        cache.get("properties", "a=1", parser);
+        cache.get("properties", "a=2", parser);
+        // touch the first entry, the second becomes the eldest
+        cache.get("properties", "a=1", parser);
+        cache.get("properties", "a=3", parser);
+        Assert.assertEquals(2, cache.getSize());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        cache.get("properties", "a=1", parser);
+        Assert.assertEquals(3, parseCount.get());
+    }
+
+    @Test
+    public void evictByWeight() {
+        NacosConfigParseCache cache = new NacosConfigParseCache(16, 8);
+        cache.get("properties", "a=1", parser);
+        cache.get("properties", "b=2", parser);
+        cache.get("properties", "c=3", parser);
+        Assert.assertEquals(2, cache.getSize());
+        Assert.assertEquals(6, cache.getWeight());
+        // larger than the maximum weight, never cached
+        cache.get("properties", "long=content", parser);
+        Assert.assertEquals(2, cache.getSize());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.boot.nacos.config.util.NacosConfigRefreshCoalescer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link NacosConfigRefreshCoalescer} Test
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigRefreshCoalescerTest {
+
+    private final NacosConfigRefreshCoalescer coalescer = NacosConfigRefreshCoalescer.getSingleton();
+
+    @Test
+    public void refreshImmediatelyWithoutQuietWindow() {
+        List<String> refreshed = new CopyOnWriteArrayList<>();
+        coalescer.submit("immediate", "a=1", 0, 0, refreshed::add);
+        coalescer.submit("immediate", "a=2", 0, 0, refreshed::add);
+        Assert.assertEquals(2, refreshed.size());
+        Assert.assertEquals("a=2", refreshed.get(1));
+    }
+
+    @Test
+    public void coalesceBurstToLatestContent() throws InterruptedException {
+        List<String> refreshed = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        long merged = coalescer.getMergedCount();
+        long dropped = coalescer.getDroppedCount();
+        for (int i = 1; i <= 5; i++) {
+            coalescer.submit("burst", "a=" + i, 200, 0, content -> {
+                refreshed.add(content);
+                latch.countDown();
+            });
+        }
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, refreshed.size());
+        Assert.assertEquals("a=5", refreshed.get(0));
+        Assert.assertEquals(4, coalescer.getMergedCount() - merged);
+
+        // the content just applied is delivered again
+        coalescer.submit("burst", "a=5", 200, 0, refreshed::add);
+        Assert.assertEquals(1, coalescer.getDroppedCount() - dropped);
+    }
+
+    @Test
+    public void flushAtMaxDelay() throws InterruptedException {
+        List<String> refreshed = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        // a quiet window never reached, the maximum delay bounds the wait
+        coalescer.submit("bounded", "a=1", 60000, 100, content -> {
+            refreshed.add(content);
+            latch.countDown();
+        });
+        coalescer.submit("bounded", "a=2", 60000, 100, content -> {
+            refreshed.add(content);
+            latch.countDown();
+        });
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        Assert.assertEquals("a=2", refreshed.get(0));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.alibaba.boot.nacos.config.event.NacosConfigDiffEvent;
+import com.alibaba.boot.nacos.config.util.NacosConfigRevalidator;
+import com.alibaba.boot.nacos.config.util.NacosPropertySourceRefresher;
+import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.config.ConfigType;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigReceivedEvent;
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * {@link NacosConfigRevalidator} Test
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConfigRevalidatorTest {
+
+    private StandardEnvironment environment;
+
+    private NacosPropertySource propertySource;
+
+    private NacosPropertySourceRefresher refresher;
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+
+    private final Properties properties = new Properties();
+
+    @Before
+    public void setup() {
+        environment = new StandardEnvironment();
+        propertySource = new NacosPropertySource("revalidator", "DEFAULT_GROUP", "revalidator-source",
+                "a=1", ConfigType.PROPERTIES.getType());
+        propertySource.setDataId("revalidator");
+        propertySource.setGroupId("DEFAULT_GROUP");
+        propertySource.setType(ConfigType.PROPERTIES.getType());
+        environment.getPropertySources().addLast(propertySource);
+        refresher = new NacosPropertySourceRefresher(environment);
+        refresher.setApplicationEventPublisher(events::add);
+        properties.setProperty(PropertyKeyConst.SERVER_ADDR, "revalidator-test:8848");
+    }
+
+    @Test
+    public void republishConfigReceivedEvent() throws Exception {
+        propertySource.setAutoRefreshed(true);
+        revalidate("a=2");
+
+        Assert.assertEquals("2", environment.getProperty("a"));
+        Assert.assertEquals(2, events.size());
+        Assert.assertTrue(events.get(0) instanceof NacosConfigDiffEvent);
+        NacosConfigReceivedEvent event = (NacosConfigReceivedEvent) events.get(1);
+        Assert.assertEquals("revalidator", event.getDataId());
+        Assert.assertEquals("DEFAULT_GROUP", event.getGroupId());
+        Assert.assertEquals("a=2", event.getContent());
+        Assert.assertEquals(ConfigType.PROPERTIES.getType(), event.getType());
+    }
+
+    @Test
+    public void onlyUpdateEnvironmentWithoutAutoRefresh() throws Exception {
+        revalidate("a=2");
+
+        Assert.assertEquals("2", environment.getProperty("a"));
+        Assert.assertEquals(1, events.size());
+        Assert.assertTrue(events.get(0) instanceof NacosConfigDiffEvent);
+    }
+
+    @Test
+    public void keepDegradedStatePerRevalidator() {
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        NacosConfigRevalidator revalidator = new NacosConfigRevalidator(refresher);
+        NacosConfigRevalidator other = new NacosConfigRevalidator(refresher);
+        revalidator.add(propertySource, configService, properties, "a=1", true);
+
+        Assert.assertEquals(Collections.singleton("revalidator-source"),
+                revalidator.getDegradedPropertySources());
+        Assert.assertTrue(other.getDegradedPropertySources().isEmpty());
+
+        revalidator.stop();
+        Assert.assertTrue(revalidator.getDegradedPropertySources().isEmpty());
+        Assert.assertTrue(revalidator.isEmpty());
+        // a stopped revalidator never asks the server
+        revalidator.start();
+        Mockito.verifyNoInteractions(configService);
+    }
+
+    private void revalidate(String content) throws Exception {
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getConfig(Mockito.eq("revalidator"), Mockito.eq("DEFAULT_GROUP"),
+                Mockito.anyLong())).thenReturn(content);
+        NacosConfigRevalidator revalidator = new NacosConfigRevalidator(refresher);
+        revalidator.add(propertySource, configService, properties, "a=1");
+        revalidator.start();
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (!content.equals("a=" + environment.getProperty("a")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        // the received event, when any, follows the refresh on the same thread
+        Thread.sleep(100L);
+    }
+}
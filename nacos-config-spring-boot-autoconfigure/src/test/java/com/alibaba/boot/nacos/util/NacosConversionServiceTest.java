@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.util;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.boot.nacos.config.util.converter.NacosConversionCache;
+import com.alibaba.boot.nacos.config.util.converter.NacosConversionService;
+import com.alibaba.boot.nacos.config.util.converter.NacosStringToBooleanConverter;
+import com.alibaba.boot.nacos.config.util.converter.NacosValueConversionService;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+
+/**
+ * {@link NacosConversionService} Test
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosConversionServiceTest {
+
+    private final ConversionService conversionService = NacosConversionService.getSingleton();
+
+    @Test
+    public void convertBoolean() {
+        Assert.assertEquals(Boolean.TRUE, conversionService.convert(" Yes ", Boolean.class));
+        Assert.assertEquals(Boolean.TRUE, conversionService.convert("ON", Boolean.class));
+        Assert.assertEquals(Boolean.FALSE, conversionService.convert("0", Boolean.class));
+        Assert.assertNull(new NacosStringToBooleanConverter().convert("  "));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void convertInvalidBoolean() {
+        new NacosStringToBooleanConverter().convert("maybe");
+    }
+
+    @Test
+    public void convertEnum() {
+        Assert.assertEquals(TimeUnit.SECONDS, conversionService.convert("SECONDS", TimeUnit.class));
+        Assert.assertEquals(TimeUnit.SECONDS, conversionService.convert(" seconds ", TimeUnit.class));
+        Assert.assertEquals(Level.SOME_VALUE, conversionService.convert("some-value", Level.class));
+        Assert.assertEquals(Level.OTHER, conversionService.convert("other", Level.class));
+    }
+
+    @Test
+    public void convertCharSequence() {
+        Assert.assertEquals("nacos", conversionService.convert(new StringBuilder("nacos"), String.class));
+    }
+
+    @Test
+    public void cacheConvertedEnums() {
+        NacosValueConversionService service = new NacosValueConversionService(() -> null);
+        NacosConversionCache cache = service.getConversionCache();
+        Assert.assertEquals(TimeUnit.SECONDS, service.convert("seconds", TimeUnit.class));
+        Assert.assertEquals(TimeUnit.SECONDS, service.convert("seconds", TimeUnit.class));
+        Assert.assertEquals(Boolean.TRUE, service.convert("on", Boolean.class));
+        Assert.assertEquals(Boolean.TRUE, service.convert("on", boolean.class));
+        Assert.assertEquals(Level.OTHER, service.convert("other", Level.class));
+        Assert.assertNull(service.convert(" ", Level.class));
+        Assert.assertNull(service.convert(" ", Level.class));
+        // booleans are converted in place
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(3, cache.getMissCount());
+        Assert.assertEquals(3, cache.getSize());
+    }
+
+    @Test
+    public void stopCachingWhenFull() {
+        NacosConversionCache cache = new NacosConversionCache(2);
+        GenericConversionService service = new GenericConversionService();
+        service.addConverter(cache);
+        service.convert("seconds", TimeUnit.class);
+        service.convert("minutes", TimeUnit.class);
+        Assert.assertEquals(TimeUnit.HOURS, service.convert("hours", TimeUnit.class));
+        Assert.assertEquals(TimeUnit.HOURS, service.convert("hours", TimeUnit.class));
+        Assert.assertEquals(2, cache.getSize());
+        Assert.assertEquals(4, cache.getMissCount());
+        service.convert("seconds", TimeUnit.class);
+        Assert.assertEquals(1, cache.getHitCount());
+    }
+
+    enum Level {
+        SOME_VALUE,
+        OTHER {
+            @Override
+            public String toString() {
+                return "other";
+            }
+        }
+    }
+}
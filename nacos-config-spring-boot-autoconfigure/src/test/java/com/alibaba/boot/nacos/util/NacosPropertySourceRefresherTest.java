@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.boot.nacos.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.alibaba.boot.nacos.config.event.NacosConfigDiffEvent;
+import com.alibaba.boot.nacos.config.util.NacosMergedPropertySource;
+import com.alibaba.boot.nacos.config.util.NacosPropertySourceRefresher;
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.config.ConfigType;
+import com.alibaba.nacos.spring.core.env.NacosPropertySource;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * {@link NacosPropertySourceRefresher} Test
+ *
+ * @author bert82503
+ * @since 0.2.12
+ */
+public class NacosPropertySourceRefresherTest {
+
+    private StandardEnvironment environment;
+
+    private NacosPropertySource propertySource;
+
+    private NacosPropertySourceRefresher refresher;
+
+    private final List<Object> events = new ArrayList<>();
+
+    private final ConfigService configService = Mockito.mock(ConfigService.class);
+
+    @Before
+    public void setup() {
+        environment = new StandardEnvironment();
+        propertySource = new NacosPropertySource("refresher", "DEFAULT_GROUP", "refresher-source",
+                "a=1\nb=2", ConfigType.PROPERTIES.getType());
+        propertySource.setDataId("refresher");
+        propertySource.setGroupId("DEFAULT_GROUP");
+        propertySource.setType(ConfigType.PROPERTIES.getType());
+        propertySource.setAutoRefreshed(true);
+        environment.getPropertySources().addLast(propertySource);
+        refresher = new NacosPropertySourceRefresher(environment);
+        refresher.setApplicationEventPublisher(events::add);
+    }
+
+    @Test
+    public void skipIdenticalContent() {
+        Assert.assertFalse(refresher.refresh(propertySource, configService, "b=2\na=1"));
+        Assert.assertSame(propertySource, environment.getPropertySources().get("refresher-source"));
+        Assert.assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void publishKeyLevelDiff() {
+        Assert.assertTrue(refresher.refresh(propertySource, configService, "b=3\nc=4"));
+        Assert.assertEquals("3", environment.getProperty("b"));
+        Assert.assertNull(environment.getProperty("a"));
+        Assert.assertEquals(1, events.size());
+        NacosConfigDiffEvent event = (NacosConfigDiffEvent) events.get(0);
+        Assert.assertEquals("refresher", event.getDataId());
+        Assert.assertEquals(Collections.singletonMap("c", "4"), event.getAdded());
+        Assert.assertEquals(Collections.singletonMap("a", "1"), event.getRemoved());
+        Assert.assertEquals(Collections.singletonMap("b", "3"), event.getChanged());
+    }
+
+    @Test
+    public void ignoreRemovedPropertySource() {
+        environment.getPropertySources().remove("refresher-source");
+        Assert.assertFalse(refresher.refresh(propertySource, configService, "a=2"));
+        Assert.assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void refreshMergedMember() {
+        environment.getPropertySources().remove("refresher-source");
+        NacosPropertySource second = new NacosPropertySource("second", "DEFAULT_GROUP", "second-source",
+                "a=9\nc=9", ConfigType.PROPERTIES.getType());
+        second.setDataId("second");
+        second.setGroupId("DEFAULT_GROUP");
+        second.setType(ConfigType.PROPERTIES.getType());
+        NacosMergedPropertySource merged = new NacosMergedPropertySource(Arrays.asList(propertySource, second));
+        environment.getPropertySources().addLast(merged);
+        Assert.assertEquals("1", environment.getProperty("a"));
+        Assert.assertEquals("9", environment.getProperty("c"));
+
+        Assert.assertTrue(refresher.refresh(propertySource, configService, "b=2"));
+        Assert.assertEquals("9", environment.getProperty("a"));
+        Assert.assertEquals("2", environment.getProperty("b"));
+        Assert.assertEquals(3, merged.getPropertyNames().length);
+        Assert.assertEquals(1, merged.getMember("refresher-source").getSource().size());
+        Assert.assertEquals(Collections.singletonMap("a", "1"), ((NacosConfigDiffEvent) events.get(0)).getRemoved());
+    }
+}